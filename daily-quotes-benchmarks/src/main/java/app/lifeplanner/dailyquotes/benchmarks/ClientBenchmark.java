@@ -0,0 +1,147 @@
+package app.lifeplanner.dailyquotes.benchmarks;
+
+import app.lifeplanner.dailyquotes.DailyQuotesApplication;
+import app.lifeplanner.dailyquotes.client.DailyQuotesClient;
+import app.lifeplanner.dailyquotes.client.DailyQuotesClientAutoConfiguration;
+import app.lifeplanner.dailyquotes.client.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.client.dto.DailyQuotesPageResponse;
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.repository.JdbcUuids;
+import feign.Client;
+import feign.Feign;
+import feign.optionals.OptionalDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Round trips against the real service (loadtest profile: Tomcat on a random port, H2, Caffeine) through
+// DailyQuotesClient as shipped (pooled HttpClient 5, gzip, CBOR, ETag revalidation) and through a naive
+// Feign client on HttpURLConnection with JSON and no cache. Reads only, so cached ETags stay valid.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"naive", "official"})
+    private String client;
+
+    @Param({"10", "1000"})
+    private int quotesPerUser;
+
+    private ConfigurableApplicationContext service;
+    private ConfigurableApplicationContext clientContext;
+    private DailyQuotesClient dailyQuotesClient;
+    private UUID userId;
+    private List<DailyQuote> quotes;
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            FeignAutoConfiguration.class, DailyQuotesClientAutoConfiguration.class})
+    static class ClientApplication {
+    }
+
+    @Setup
+    public void setUp() {
+        service = new SpringApplicationBuilder(DailyQuotesApplication.class)
+                .profiles("benchmark", "loadtest")
+                .run();
+        String url = "http://localhost:" + service.getEnvironment().getProperty("local.server.port");
+
+        userId = UUID.randomUUID();
+        quotes = QuoteFixtures.quotes(userId, quotesPerUser);
+        new JdbcTemplate(service.getBean(DataSource.class)).batchUpdate(
+                "INSERT INTO daily_quote (id, quote_image, user_id, version) VALUES (?, ?, ?, 0)",
+                quotes, 1_000, (statement, quote) -> {
+                    statement.setBytes(1, JdbcUuids.toBytes(quote.getId()));
+                    statement.setString(2, quote.getQuoteImage());
+                    statement.setBytes(3, JdbcUuids.toBytes(quote.getUserId()));
+                });
+
+        dailyQuotesClient = switch (client) {
+            case "naive" -> naiveClient(url);
+            case "official" -> {
+                clientContext = new SpringApplicationBuilder(ClientApplication.class)
+                        .web(WebApplicationType.NONE)
+                        .run("--daily-quotes.client.url=" + url, "--spring.main.banner-mode=off");
+                yield clientContext.getBean(DailyQuotesClient.class);
+            }
+            default -> throw new IllegalArgumentException("Unknown client: " + client);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (clientContext != null) {
+            clientContext.close();
+        }
+        service.close();
+    }
+
+    // What a consumer gets from Feign out of the box: HttpURLConnection, JSON, every body read in full
+    private static DailyQuotesClient naiveClient(String url) {
+        HttpMessageConverters converters = new HttpMessageConverters(false,
+                List.of(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build())));
+        return Feign.builder()
+                .client(new Client.Default(null, null))
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(() -> converters))
+                .decoder(new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(() -> converters))))
+                .requestInterceptor(template -> template.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE))
+                .target(DailyQuotesClient.class, url + "/api/v1/daily-quotes");
+    }
+
+    @Benchmark
+    public List<AddDailyQuoteRequest> getQuotesByUserId() {
+        return dailyQuotesClient.getQuotesByUserId(userId);
+    }
+
+    @Benchmark
+    public DailyQuotesPageResponse getQuotesPageByUserId() {
+        return dailyQuotesClient.getQuotesPageByUserId(userId, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public AddDailyQuoteRequest getQuoteById() {
+        UUID id = quotes.get(ThreadLocalRandom.current().nextInt(quotes.size())).getId();
+        return dailyQuotesClient.getQuoteById(id).getBody();
+    }
+}
@@ -0,0 +1,66 @@
+package app.lifeplanner.dailyquotes.benchmarks;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.web.mapper.DailyQuoteMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Builder-based DailyQuoteMapper conversions, plus the stream collect in DailyQuotesController.getQuotesByUserId
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int quotesPerUser;
+
+    private List<DailyQuote> entities;
+    private List<AddDailyQuoteRequest> requests;
+
+    @Setup
+    public void setUp() {
+        entities = QuoteFixtures.quotes(UUID.randomUUID(), quotesPerUser);
+        requests = entities.stream().map(DailyQuoteMapper::fromEntity).toList();
+    }
+
+    @Benchmark
+    public void fromEntity(Blackhole blackhole) {
+        for (DailyQuote entity : entities) {
+            blackhole.consume(DailyQuoteMapper.fromEntity(entity));
+        }
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (AddDailyQuoteRequest request : requests) {
+            blackhole.consume(DailyQuoteMapper.toEntity(request));
+        }
+    }
+
+    // Same pipeline as the GET /user/{userId} response body
+    @Benchmark
+    public List<AddDailyQuoteRequest> controllerCollect() {
+        return entities.stream()
+                .map(DailyQuoteMapper::fromEntity)
+                .collect(Collectors.toList());
+    }
+}
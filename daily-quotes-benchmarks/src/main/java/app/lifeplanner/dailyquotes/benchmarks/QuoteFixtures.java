@@ -0,0 +1,32 @@
+package app.lifeplanner.dailyquotes.benchmarks;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.UuidV7Generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Quote data shared by the suites, shaped like real rows: UUIDv7 ids and Cloudinary-style image URLs
+final class QuoteFixtures {
+
+    private QuoteFixtures() {
+    }
+
+    static List<DailyQuote> quotes(UUID userId, int count) {
+        List<DailyQuote> quotes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            quotes.add(DailyQuote.builder()
+                    .id(UuidV7Generator.next())
+                    .quoteImage(imageUrl(i))
+                    .userId(userId)
+                    .version(0L)
+                    .build());
+        }
+        return quotes;
+    }
+
+    static String imageUrl(int i) {
+        return "https://res.cloudinary.com/lifeplanner/image/upload/v1700000000/daily-quotes/quote-" + i + ".png";
+    }
+}
@@ -0,0 +1,103 @@
+package app.lifeplanner.dailyquotes.benchmarks;
+
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.web.mapper.DailyQuoteMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Jackson (configured the way Spring MVC configures it) on the request and user-list payloads, in each media type
+// the controller negotiates: JSON, CBOR and Smile. The binary formats write UUIDs as 16 raw bytes. Payload sizes
+// are printed once per fork, since JMH itself only reports time and allocation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int quotesPerUser;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectWriter requestWriter;
+    private ObjectReader requestReader;
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+
+    private AddDailyQuoteRequest request;
+    private byte[] requestJson;
+    private List<DailyQuoteView> list;
+    private byte[] listJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = mapper(format);
+        requestWriter = objectMapper.writerFor(AddDailyQuoteRequest.class);
+        requestReader = objectMapper.readerFor(AddDailyQuoteRequest.class);
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, DailyQuoteView.class));
+        listReader = objectMapper.readerForListOf(AddDailyQuoteRequest.class);
+
+        list = QuoteFixtures.quotes(UUID.randomUUID(), quotesPerUser).stream()
+                .map(quote -> new DailyQuoteView(quote.getId(), quote.getQuoteImage(), quote.getUserId(), quote.getVersion()))
+                .toList();
+        request = DailyQuoteMapper.fromEntity(QuoteFixtures.quotes(UUID.randomUUID(), 1).get(0));
+        requestJson = requestWriter.writeValueAsBytes(request);
+        listJson = listWriter.writeValueAsBytes(list);
+        System.out.printf("%n# %s payload: request %d bytes, user list of %d quotes %d bytes%n",
+                format, requestJson.length, quotesPerUser, listJson.length);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    // POST /api/v1/daily-quotes request body
+    @Benchmark
+    public AddDailyQuoteRequest readRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] writeRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    // GET /api/v1/daily-quotes/user/{userId} response body
+    @Benchmark
+    public byte[] writeUserList() throws IOException {
+        return listWriter.writeValueAsBytes(list);
+    }
+
+    // What a Feign client does with that response (LifePlanner maps it onto its copy of AddDailyQuoteRequest)
+    @Benchmark
+    public List<AddDailyQuoteRequest> readUserList() throws IOException {
+        return listReader.readValue(listJson);
+    }
+}
@@ -0,0 +1,116 @@
+package app.lifeplanner.dailyquotes.benchmarks;
+
+import app.lifeplanner.dailyquotes.DailyQuotesApplication;
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.repository.JdbcUuids;
+import app.lifeplanner.dailyquotes.service.DailyQuoteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// DailyQuoteService against an H2 database seeded with one user's quotes, on each persistence backend
+// (JPA repository vs JDBC store). The cache is disabled (benchmark profile), so every call reaches the store.
+// Writes go to a separate user with a single quote, so the quote-of-the-day refresh they trigger stays cheap.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10", "1000", "100000"})
+    private int quotesPerUser;
+
+    @Param({"jpa", "jdbc"})
+    private String backend;
+
+    private ConfigurableApplicationContext context;
+    private DailyQuoteService dailyQuoteService;
+    private UUID userId;
+    private List<DailyQuote> quotes;
+    private UUID writerId;
+    private UUID writerQuoteId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DailyQuotesApplication.class)
+                .profiles("benchmark")
+                .run("--daily-quotes.persistence.backend=" + backend);
+        dailyQuoteService = context.getBean(DailyQuoteService.class);
+
+        userId = UUID.randomUUID();
+        quotes = QuoteFixtures.quotes(userId, quotesPerUser);
+        new JdbcTemplate(context.getBean(DataSource.class)).batchUpdate(
+                "INSERT INTO daily_quote (id, quote_image, user_id, version) VALUES (?, ?, ?, 0)",
+                quotes, 1_000, (statement, quote) -> {
+                    statement.setBytes(1, JdbcUuids.toBytes(quote.getId()));
+                    statement.setString(2, quote.getQuoteImage());
+                    statement.setBytes(3, JdbcUuids.toBytes(quote.getUserId()));
+                });
+
+        writerId = UUID.randomUUID();
+        writerQuoteId = dailyQuoteService.addDailyQuote(newQuote(writerId)).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DailyQuoteView> getQuotesByUserId() {
+        return dailyQuoteService.getQuotesByUserId(userId);
+    }
+
+    @Benchmark
+    public List<DailyQuoteView> getQuotesPageByUserId() {
+        return dailyQuoteService.getQuotesPageByUserId(userId, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Optional<DailyQuoteView> getQuoteById() {
+        UUID id = quotes.get(ThreadLocalRandom.current().nextInt(quotes.size())).getId();
+        return dailyQuoteService.getQuoteById(id);
+    }
+
+    // Insert plus delete, so the table keeps its size however long the run
+    @Benchmark
+    public void addAndDeleteDailyQuote() {
+        DailyQuote saved = dailyQuoteService.addDailyQuote(newQuote(writerId));
+        dailyQuoteService.deleteDailyQuote(saved.getId(), null);
+    }
+
+    @Benchmark
+    public DailyQuote updateDailyQuote() {
+        DailyQuote edit = DailyQuote.builder().id(writerQuoteId).quoteImage(QuoteFixtures.imageUrl(1)).userId(writerId).build();
+        return dailyQuoteService.updateDailyQuote(edit, null);
+    }
+
+    private static DailyQuote newQuote(UUID userId) {
+        return DailyQuote.builder().quoteImage(QuoteFixtures.imageUrl(0)).userId(userId).build();
+    }
+}
@@ -0,0 +1,50 @@
+package app.lifeplanner.dailyquotes.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Ids of the quotes that currently exist, so reads, updates and deletes target real rows.
+// Guarded by a ReentrantLock rather than synchronized because callers run on virtual threads.
+class LiveQuotes {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<UUID> ids = new ArrayList<>();
+
+    void add(UUID id) {
+        lock.lock();
+        try {
+            ids.add(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    UUID random() {
+        lock.lock();
+        try {
+            return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Swap-removes a random id so no later request picks a quote that is about to be deleted
+    UUID removeRandom() {
+        lock.lock();
+        try {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            UUID id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package app.lifeplanner.dailyquotes.loadtest;
+
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.web.dto.EditDailyQuotesRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load generator: requests are issued on a fixed schedule whether or not earlier ones have
+// completed, and latency is measured from the scheduled send time. A slow server therefore shows up
+// as latency instead of silently lowering the offered rate (no coordinated omission).
+// Non-2xx responses count as errors; with deletes in the mix a few reads and updates will 404 on a
+// quote that a concurrent request has just removed.
+class LoadGenerator {
+
+    private static final String API = "/api/v1/daily-quotes";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final LiveQuotes liveQuotes = new LiveQuotes();
+    private final List<UUID> users = new ArrayList<>();
+    private final Operation[] schedule;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadGenerator(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl + API;
+        this.schedule = weightedSchedule(config.mix());
+        for (Operation operation : config.mix().keySet()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    LoadReport run() throws Exception {
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(requests)
+                     .build()) {
+            seed(http);
+
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+            long start = System.nanoTime();
+            long measureFrom = start + config.warmup().toNanos();
+            long end = measureFrom + config.duration().toNanos();
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * intervalNanos;
+                if (scheduled >= end) {
+                    break;
+                }
+                for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                boolean measured = scheduled >= measureFrom;
+                requests.execute(() -> execute(http, operation, scheduled, measured));
+            }
+            requests.shutdown();
+            requests.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+        }
+
+        Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> latencies.put(operation, recorder.getIntervalHistogram()));
+        errors.forEach((operation, count) -> errorCounts.put(operation, count.sum()));
+        return new LoadReport(config.duration(), latencies, errorCounts);
+    }
+
+    // Creates the starting data set through the batch endpoint so the run begins with realistic list sizes
+    private void seed(HttpClient http) throws IOException, InterruptedException {
+        for (int u = 0; u < config.users(); u++) {
+            UUID userId = UUID.randomUUID();
+            users.add(userId);
+            if (config.quotesPerUser() == 0) {
+                continue;
+            }
+            List<AddDailyQuoteRequest> quotes = new ArrayList<>();
+            for (int q = 0; q < config.quotesPerUser(); q++) {
+                quotes.add(AddDailyQuoteRequest.builder().quoteImage(imageUrl()).userId(userId).build());
+            }
+            HttpResponse<String> response = http.send(post("/batch", quotes), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            List<AddDailyQuoteRequest> created = objectMapper.readerForListOf(AddDailyQuoteRequest.class).readValue(response.body());
+            created.forEach(quote -> liveQuotes.add(quote.getId()));
+        }
+    }
+
+    private void execute(HttpClient http, Operation operation, long scheduled, boolean measured) {
+        try {
+            boolean ok = send(http, operation);
+            if (!measured) {
+                return;
+            }
+            if (ok) {
+                recorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+            } else {
+                errors.get(operation).increment();
+            }
+        } catch (Exception e) {
+            if (measured) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private boolean send(HttpClient http, Operation operation) throws IOException, InterruptedException {
+        UUID id;
+        switch (operation) {
+            case CREATE -> {
+                UUID userId = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+                AddDailyQuoteRequest body = AddDailyQuoteRequest.builder().quoteImage(imageUrl()).userId(userId).build();
+                HttpResponse<String> response = http.send(post("", body), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 201) {
+                    return false;
+                }
+                liveQuotes.add(objectMapper.readValue(response.body(), AddDailyQuoteRequest.class).getId());
+                return true;
+            }
+            case GET_BY_ID -> {
+                if ((id = liveQuotes.random()) == null) {
+                    return false;
+                }
+                return http.send(get("/" + id), HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            }
+            case LIST_BY_USER -> {
+                UUID userId = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+                return http.send(get("/user/" + userId), HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            }
+            case UPDATE -> {
+                if ((id = liveQuotes.random()) == null) {
+                    return false;
+                }
+                EditDailyQuotesRequest body = EditDailyQuotesRequest.builder().quoteImage(imageUrl()).build();
+                HttpRequest request = request("/" + id)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                        .build();
+                return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            }
+            case DELETE -> {
+                if ((id = liveQuotes.removeRandom()) == null) {
+                    return false;
+                }
+                return http.send(request("/" + id).DELETE().build(), HttpResponse.BodyHandlers.discarding()).statusCode() == 204;
+            }
+            default -> throw new IllegalStateException("Unhandled operation " + operation);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private static String imageUrl() {
+        return "https://res.cloudinary.com/lifeplanner/image/upload/daily-quotes/" + UUID.randomUUID() + ".png";
+    }
+
+    // Expands the weights into a lookup table so picking an operation is a single random index
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        List<Operation> table = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        });
+        return table.toArray(Operation[]::new);
+    }
+}
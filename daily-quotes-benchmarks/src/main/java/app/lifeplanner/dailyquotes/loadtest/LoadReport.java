@@ -0,0 +1,49 @@
+package app.lifeplanner.dailyquotes.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+// Per-operation latency histograms (microseconds) of the measured part of a run
+record LoadReport(Duration measured, Map<Operation, Histogram> latencies, Map<Operation, Long> errors) {
+
+    void print(PrintStream out) {
+        out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s%n", "op", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+            long opErrors = errors.getOrDefault(entry.getKey(), 0L);
+            printRow(out, entry.getKey().key(), entry.getValue(), opErrors);
+            total.add(entry.getValue());
+            totalErrors += opErrors;
+        }
+        printRow(out, "total", total, totalErrors);
+    }
+
+    // One HdrHistogram percentile distribution per operation (values in ms), for plotting or comparing runs
+    void writeHistograms(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey().key() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errors) {
+        out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                (histogram.getTotalCount() + errors) / (measured.toMillis() / 1000.0),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
@@ -0,0 +1,60 @@
+package app.lifeplanner.dailyquotes.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Command-line options of LoadTestMain, given as --name=value
+record LoadTestConfig(int rate,
+                      Duration duration,
+                      Duration warmup,
+                      int users,
+                      int quotesPerUser,
+                      Map<Operation, Integer> mix,
+                      String target,
+                      Path reportDir) {
+
+    static final String DEFAULT_MIX = "create:10,get:50,list:30,update:5,delete:5";
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(options.getOrDefault("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "30"))),
+                Integer.parseInt(options.getOrDefault("users", "100")),
+                Integer.parseInt(options.getOrDefault("quotes-per-user", "20")),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                options.get("target"),
+                options.containsKey("report-dir") ? Path.of(options.get("report-dir")) : null);
+        if (config.rate() <= 0 || config.users() <= 0) {
+            throw new IllegalArgumentException("--rate and --users must be positive");
+        }
+        return config;
+    }
+
+    // "create:10,get:50" -> {CREATE=10, GET_BY_ID=50}; weights are relative, they need not add up to 100
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix but got '" + entry + "'");
+            }
+            weights.put(Operation.fromKey(parts[0]), Integer.parseInt(parts[1]));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,42 @@
+package app.lifeplanner.dailyquotes.loadtest;
+
+import app.lifeplanner.dailyquotes.DailyQuotesApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Drives a fixed-rate mix of the quote endpoints and prints HdrHistogram latency percentiles.
+// Without --target the service is started in-process on an in-memory H2 database.
+//
+//   java -cp benchmarks.jar app.lifeplanner.dailyquotes.loadtest.LoadTestMain \
+//        --rate=500 --duration=60 --warmup=30 --mix=create:10,get:50,list:30,update:5,delete:5
+//
+// Other options: --users, --quotes-per-user (seed data), --target=http://host:port, --report-dir=dir (.hgrm files)
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        ConfigurableApplicationContext service = null;
+        String target = config.target();
+        if (target == null) {
+            service = new SpringApplicationBuilder(DailyQuotesApplication.class)
+                    .profiles("benchmark", "loadtest")
+                    .run();
+            target = "http://localhost:" + service.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            System.out.printf("Offering %d req/s for %ds (after %ds warm-up) to %s, mix %s%n",
+                    config.rate(), config.duration().toSeconds(), config.warmup().toSeconds(), target, config.mix());
+            LoadReport report = new LoadGenerator(config, target).run();
+            report.print(System.out);
+            if (config.reportDir() != null) {
+                report.writeHistograms(config.reportDir());
+            }
+        } finally {
+            if (service != null) {
+                service.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package app.lifeplanner.dailyquotes.loadtest;
+
+import java.util.Arrays;
+
+// The endpoints a load test can mix, keyed by the names used in --mix
+enum Operation {
+    CREATE("create"),
+    GET_BY_ID("get"),
+    LIST_BY_USER("list"),
+    UPDATE("update"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::key).toList()));
+    }
+}
@@ -0,0 +1,75 @@
+package app.lifeplanner.dailyquotes.client;
+
+import app.lifeplanner.dailyquotes.client.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.client.dto.BulkOperationResponse;
+import app.lifeplanner.dailyquotes.client.dto.DailyQuotesLookupResponse;
+import app.lifeplanner.dailyquotes.client.dto.DailyQuotesPageResponse;
+import app.lifeplanner.dailyquotes.client.dto.EditDailyQuotesRequest;
+import app.lifeplanner.dailyquotes.client.dto.TransferDailyQuotesRequest;
+import feign.Response;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+// Client for /api/v1/daily-quotes. Error statuses surface as feign.FeignException subclasses
+// (FeignException.NotFound for a missing quote, status 412 for a stale If-Match).
+@FeignClient(name = "daily-quotes",
+        url = "${daily-quotes.client.url}",
+        path = "/api/v1/daily-quotes",
+        configuration = DailyQuotesClientConfiguration.class)
+public interface DailyQuotesClient {
+
+    // Repeated calls for an unchanged list are revalidated with If-None-Match and answered from the client cache
+    @GetMapping("/user/{userId}")
+    List<AddDailyQuoteRequest> getQuotesByUserId(@PathVariable("userId") UUID userId);
+
+    @GetMapping("/user/{userId}/today")
+    AddDailyQuoteRequest getTodaysQuote(@PathVariable("userId") UUID userId);
+
+    // Pass the previous page's next cursor (null for the first page)
+    @GetMapping("/user/{userId}/page")
+    DailyQuotesPageResponse getQuotesPageByUserId(@PathVariable("userId") UUID userId,
+                                                  @RequestParam("limit") int limit,
+                                                  @RequestParam(value = "next", required = false) String next);
+
+    // The ETag header (getHeaders().getETag()) is the quote's version, to pass as ifMatch to update or delete
+    @GetMapping("/{id}")
+    ResponseEntity<AddDailyQuoteRequest> getQuoteById(@PathVariable("id") UUID id);
+
+    // Up to 1000 quotes in one request instead of one getQuoteById per id; unknown ids come back in missing
+    @PostMapping("/lookup")
+    DailyQuotesLookupResponse lookupQuotes(@RequestBody List<UUID> ids);
+
+    // Newline-delimited JSON stream of all quotes, or one user's; the caller must close the response
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Response exportQuotes(@RequestParam(value = "userId", required = false) UUID userId);
+
+    @PostMapping
+    AddDailyQuoteRequest addDailyQuote(@RequestBody AddDailyQuoteRequest request);
+
+    @PostMapping("/batch")
+    List<AddDailyQuoteRequest> addDailyQuotes(@RequestBody List<AddDailyQuoteRequest> requests);
+
+    // ifMatch is the quote's ETag from getQuoteById or a previous update for a conditional update, or null
+    @PutMapping("/{id}")
+    ResponseEntity<EditDailyQuotesRequest> updateDailyQuote(@PathVariable("id") UUID id,
+                                            @RequestBody EditDailyQuotesRequest request,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
+
+    @DeleteMapping("/{id}")
+    void deleteDailyQuote(@PathVariable("id") UUID id,
+                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
+
+    // Deletes all of the user's quotes; affected is the number deleted
+    @DeleteMapping("/user/{userId}")
+    BulkOperationResponse deleteQuotesByUserId(@PathVariable("userId") UUID userId);
+
+    // Moves all of the user's quotes to request.toUserId; affected is the number moved
+    @PostMapping("/user/{userId}/transfer")
+    BulkOperationResponse transferQuotes(@PathVariable("userId") UUID userId, @RequestBody TransferDailyQuotesRequest request);
+}
@@ -0,0 +1,16 @@
+package app.lifeplanner.dailyquotes.client;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+
+// Registers DailyQuotesClient in any Spring Boot application that has this jar on the classpath
+// and sets daily-quotes.client.url; no @EnableFeignClients needed on the consumer side
+@AutoConfiguration(after = FeignAutoConfiguration.class)
+@ConditionalOnProperty(prefix = "daily-quotes.client", name = "url")
+@EnableConfigurationProperties(DailyQuotesClientProperties.class)
+@EnableFeignClients(clients = DailyQuotesClient.class)
+public class DailyQuotesClientAutoConfiguration {
+}
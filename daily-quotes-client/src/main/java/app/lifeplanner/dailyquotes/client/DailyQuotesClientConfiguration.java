@@ -0,0 +1,52 @@
+package app.lifeplanner.dailyquotes.client;
+
+import feign.Client;
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.hc5.ApacheHttp5Client;
+import feign.optionals.OptionalDecoder;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+// Feign configuration used only by DailyQuotesClient. It is deliberately not a @Configuration class,
+// so a consumer's component scan cannot turn it into the default for their other Feign clients.
+public class DailyQuotesClientConfiguration {
+
+    // Spring Cloud OpenFeign's pooled HttpClient 5 (keep-alive, transparent gzip) behind the ETag cache
+    @Bean
+    public Client dailyQuotesFeignClient(CloseableHttpClient httpClient, DailyQuotesClientProperties properties) {
+        return new ETagCachingClient(new ApacheHttp5Client(httpClient), properties.getCacheSize().toBytes());
+    }
+
+    // Ask for the configured media type unless the method declares its own (the NDJSON export does)
+    @Bean
+    public RequestInterceptor dailyQuotesAcceptInterceptor(DailyQuotesClientProperties properties) {
+        return template -> {
+            if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, properties.getMediaType());
+            }
+        };
+    }
+
+    // Decodes every media type the service negotiates, whatever converters the consuming application has
+    @Bean
+    public Decoder dailyQuotesDecoder(ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        HttpMessageConverters converters = new HttpMessageConverters(false, List.of(
+                new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+                new MappingJackson2CborHttpMessageConverter(Jackson2ObjectMapperBuilder.cbor().build()),
+                new MappingJackson2SmileHttpMessageConverter(Jackson2ObjectMapperBuilder.smile().build())));
+        return new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(() -> converters, customizers)));
+    }
+}
@@ -0,0 +1,21 @@
+package app.lifeplanner.dailyquotes.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+// daily-quotes.client.* settings. Connection pool size and timeouts are Spring Cloud OpenFeign's own
+// spring.cloud.openfeign.httpclient.* properties (200 connections, 50 per route by default).
+@Data
+@ConfigurationProperties(prefix = "daily-quotes.client")
+public class DailyQuotesClientProperties {
+
+    // Base URL of the service, e.g. http://daily-quotes:8081; the client is only created when this is set
+    private String url;
+
+    // Accept header for responses: application/cbor (UUIDs as raw bytes), application/x-jackson-smile or application/json
+    private String mediaType = "application/cbor";
+
+    // Upper bound for the ETag cache, counted as the sum of the cached response bodies
+    private DataSize cacheSize = DataSize.ofMegabytes(16);
+}
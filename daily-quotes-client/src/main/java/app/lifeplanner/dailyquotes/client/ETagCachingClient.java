@@ -0,0 +1,99 @@
+package app.lifeplanner.dailyquotes.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Transport decorator that keeps the body of every GET answered with an ETag and revalidates it with
+// If-None-Match. A 304 is turned back into the cached 200 before decoding, so callers always see a full
+// response while the service skips serialization and the body does not cross the wire again.
+// Nothing is served without asking the service, so writes need no invalidation here.
+// Entries are keyed by URL and Accept header and weighed by body size.
+public class ETagCachingClient implements Client {
+
+    private final Client delegate;
+    private final long maxBytes;
+    private final Cache<String, CachedResponse> cache;
+
+    public ETagCachingClient(Client delegate, long maxBytes) {
+        this.delegate = delegate;
+        this.maxBytes = maxBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse cached) -> cached.body().length)
+                .build();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+        String key = request.url() + " " + firstHeader(request.headers(), HttpHeaders.ACCEPT);
+        CachedResponse cached = cache.getIfPresent(key);
+        Response response = delegate.execute(cached == null ? request : withIfNoneMatch(request, cached.eTag()), options);
+        if (cached != null && response.status() == HttpStatus.NOT_MODIFIED.value()) {
+            response.close();
+            return cached.toResponse(request);
+        }
+
+        String eTag = firstHeader(response.headers(), HttpHeaders.ETAG);
+        if (response.status() != HttpStatus.OK.value() || eTag == null || response.body() == null) {
+            if (cached != null) {
+                cache.invalidate(key);
+            }
+            return response;
+        }
+        byte[] body;
+        try (response) {
+            body = Util.toByteArray(response.body().asInputStream());
+        }
+        CachedResponse fresh = new CachedResponse(eTag, response.headers(), body);
+        // Caffeine evicts over-weight entries asynchronously; a body that can never fit is not stored at all
+        if (body.length <= maxBytes) {
+            cache.put(key, fresh);
+        } else if (cached != null) {
+            cache.invalidate(key);
+        }
+        return fresh.toResponse(request);
+    }
+
+    private static Request withIfNoneMatch(Request request, String eTag) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.put(HttpHeaders.IF_NONE_MATCH, List.of(eTag));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(), request.requestTemplate());
+    }
+
+    private static String firstHeader(Map<String, Collection<String>> headers, String name) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    private record CachedResponse(String eTag, Map<String, Collection<String>> headers, byte[] body) {
+
+        Response toResponse(Request request) {
+            return Response.builder()
+                    .status(HttpStatus.OK.value())
+                    .reason(HttpStatus.OK.getReasonPhrase())
+                    .headers(headers)
+                    .body(body)
+                    .request(request)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package app.lifeplanner.dailyquotes.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Body of POST /api/v1/daily-quotes and of every quote the service returns
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddDailyQuoteRequest {
+    private UUID id;
+    private String quoteImage;
+    private UUID userId;
+}
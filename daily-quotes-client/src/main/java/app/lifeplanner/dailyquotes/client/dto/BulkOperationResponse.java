@@ -0,0 +1,13 @@
+package app.lifeplanner.dailyquotes.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResponse {
+    // Number of quotes deleted or moved
+    private long affected;
+}
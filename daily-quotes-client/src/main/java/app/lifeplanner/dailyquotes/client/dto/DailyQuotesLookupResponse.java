@@ -0,0 +1,20 @@
+package app.lifeplanner.dailyquotes.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyQuotesLookupResponse {
+    // Found quotes, in the order their ids were requested
+    private List<AddDailyQuoteRequest> items;
+    // Requested ids that have no quote
+    private List<UUID> missing;
+}
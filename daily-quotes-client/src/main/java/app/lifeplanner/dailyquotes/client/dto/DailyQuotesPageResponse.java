@@ -0,0 +1,18 @@
+package app.lifeplanner.dailyquotes.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyQuotesPageResponse {
+    private List<AddDailyQuoteRequest> items;
+    // Opaque cursor for the following page, null when this is the last page
+    private String next;
+}
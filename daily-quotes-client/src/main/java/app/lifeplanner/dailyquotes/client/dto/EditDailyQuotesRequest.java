@@ -0,0 +1,19 @@
+package app.lifeplanner.dailyquotes.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Body of PUT /api/v1/daily-quotes/{id}; a null userId keeps the current owner
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EditDailyQuotesRequest {
+    private UUID id;
+    private String quoteImage;
+    private UUID userId;
+}
@@ -0,0 +1,180 @@
+package app.lifeplanner.dailyquotes.client;
+
+import app.lifeplanner.dailyquotes.DailyQuotesApplication;
+import app.lifeplanner.dailyquotes.client.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.client.dto.DailyQuotesLookupResponse;
+import app.lifeplanner.dailyquotes.client.dto.DailyQuotesPageResponse;
+import app.lifeplanner.dailyquotes.client.dto.EditDailyQuotesRequest;
+import app.lifeplanner.dailyquotes.client.dto.TransferDailyQuotesRequest;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the real service on H2 and a random port, and talks to it through the auto-configured client
+public class DailyQuotesClientITest {
+
+    private static ConfigurableApplicationContext service;
+    private static ConfigurableApplicationContext clientContext;
+    private static DailyQuotesClient client;
+    private static String baseUrl;
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            FeignAutoConfiguration.class, DailyQuotesClientAutoConfiguration.class})
+    static class ClientApplication {
+    }
+
+    @BeforeAll
+    static void startServiceAndClient() {
+        service = new SpringApplicationBuilder(DailyQuotesApplication.class).profiles("test").run();
+        baseUrl = "http://localhost:" + service.getEnvironment().getProperty("local.server.port");
+        clientContext = new SpringApplicationBuilder(ClientApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--daily-quotes.client.url=" + baseUrl, "--spring.main.banner-mode=off");
+        client = clientContext.getBean(DailyQuotesClient.class);
+    }
+
+    @AfterAll
+    static void stop() {
+        clientContext.close();
+        service.close();
+    }
+
+    private static AddDailyQuoteRequest newQuote(UUID userId, int i) {
+        return AddDailyQuoteRequest.builder().quoteImage("quote-" + i + ".png").userId(userId).build();
+    }
+
+    private static double notModifiedResponses() {
+        return service.getBean(MeterRegistry.class).find("http.server.requests").tag("status", "304")
+                .timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+
+    @Test
+    void givenQuote_whenCreatedUpdatedAndDeletedThroughClient_thenServiceStateFollows() {
+        UUID userId = UUID.randomUUID();
+        AddDailyQuoteRequest created = client.addDailyQuote(newQuote(userId, 0));
+        assertNotNull(created.getId());
+        ResponseEntity<AddDailyQuoteRequest> read = client.getQuoteById(created.getId());
+        assertEquals(created, read.getBody());
+        String readETag = read.getHeaders().getETag();
+        assertNotNull(readETag);
+
+        EditDailyQuotesRequest edit = EditDailyQuotesRequest.builder().quoteImage("edited.png").userId(userId).build();
+        ResponseEntity<EditDailyQuotesRequest> updated = client.updateDailyQuote(created.getId(), edit, readETag);
+        assertEquals("edited.png", updated.getBody().getQuoteImage());
+        String updatedETag = updated.getHeaders().getETag();
+        assertNotEquals(readETag, updatedETag);
+        assertEquals("edited.png", client.getQuoteById(created.getId()).getBody().getQuoteImage());
+        assertEquals(updatedETag, client.getQuoteById(created.getId()).getHeaders().getETag());
+
+        FeignException stale = assertThrows(FeignException.class, () -> client.deleteDailyQuote(created.getId(), readETag));
+        assertEquals(412, stale.status());
+        client.deleteDailyQuote(created.getId(), updatedETag);
+        assertThrows(FeignException.NotFound.class, () -> client.getQuoteById(created.getId()));
+    }
+
+    @Test
+    void givenUnchangedList_whenFetchedAgain_thenServiceAnswers304AndClientReturnsCachedList() {
+        UUID userId = UUID.randomUUID();
+        List<AddDailyQuoteRequest> created = client.addDailyQuotes(
+                IntStream.range(0, 20).mapToObj(i -> newQuote(userId, i)).toList());
+
+        List<AddDailyQuoteRequest> first = client.getQuotesByUserId(userId);
+        double notModifiedBefore = notModifiedResponses();
+        List<AddDailyQuoteRequest> second = client.getQuotesByUserId(userId);
+
+        assertEquals(created, first);
+        assertEquals(first, second);
+        assertEquals(notModifiedBefore + 1, notModifiedResponses());
+    }
+
+    @Test
+    void givenListChangedSinceCached_whenFetchedAgain_thenNewListIsReturned() {
+        UUID userId = UUID.randomUUID();
+        client.addDailyQuote(newQuote(userId, 0));
+        assertEquals(1, client.getQuotesByUserId(userId).size());
+
+        client.addDailyQuote(newQuote(userId, 1));
+
+        assertEquals(2, client.getQuotesByUserId(userId).size());
+    }
+
+    @Test
+    void givenManyQuotes_whenPagedThroughClient_thenCursorWalksAllQuotes() {
+        UUID userId = UUID.randomUUID();
+        client.addDailyQuotes(IntStream.range(0, 5).mapToObj(i -> newQuote(userId, i)).toList());
+
+        DailyQuotesPageResponse first = client.getQuotesPageByUserId(userId, 3, null);
+        DailyQuotesPageResponse second = client.getQuotesPageByUserId(userId, 3, first.getNext());
+
+        assertEquals(3, first.getItems().size());
+        assertEquals(2, second.getItems().size());
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void givenStoredAndUnknownIds_whenLookedUpThroughClient_thenFoundAndMissingComeBackInOneResponse() {
+        UUID userId = UUID.randomUUID();
+        List<AddDailyQuoteRequest> saved = client.addDailyQuotes(IntStream.range(0, 3).mapToObj(i -> newQuote(userId, i)).toList());
+        UUID unknownId = UUID.randomUUID();
+
+        DailyQuotesLookupResponse response = client.lookupQuotes(List.of(saved.get(2).getId(), unknownId, saved.get(0).getId()));
+
+        assertEquals(List.of(saved.get(2).getId(), saved.get(0).getId()),
+                response.getItems().stream().map(AddDailyQuoteRequest::getId).toList());
+        assertEquals(List.of(unknownId), response.getMissing());
+    }
+
+    @Test
+    void givenUserQuotes_whenTransferredAndDeletedThroughClient_thenCountsAreReturned() {
+        UUID fromUserId = UUID.randomUUID();
+        UUID toUserId = UUID.randomUUID();
+        client.addDailyQuotes(IntStream.range(0, 4).mapToObj(i -> newQuote(fromUserId, i)).toList());
+
+        assertEquals(4, client.transferQuotes(fromUserId, TransferDailyQuotesRequest.builder().toUserId(toUserId).build()).getAffected());
+        assertEquals(4, client.deleteQuotesByUserId(toUserId).getAffected());
+        assertTrue(client.getQuotesByUserId(toUserId).isEmpty());
+    }
+
+    @Test
+    void givenLargeList_whenRequestedWithGzip_thenServiceCompressesAndWeakensETag() throws Exception {
+        UUID userId = UUID.randomUUID();
+        client.addDailyQuotes(IntStream.range(0, 100).mapToObj(i -> newQuote(userId, i)).toList());
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                        .uri(URI.create(baseUrl + "/api/v1/daily-quotes/user/" + userId))
+                        .header("Accept-Encoding", "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElseThrow());
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+    }
+
+    @Test
+    void givenMissingQuote_whenGetById_thenNotFoundIsThrown() {
+        assertThrows(FeignException.NotFound.class, () -> client.getQuoteById(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,119 @@
+package app.lifeplanner.dailyquotes.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagCachingClientUTest {
+
+    private static final String URL = "http://localhost/api/v1/daily-quotes/user/1";
+
+    // Answers with the scripted responses in order and records what it was sent
+    private static class FakeServer implements Client {
+        private final Deque<Response.Builder> responses = new ArrayDeque<>();
+        private final List<Request> received = new ArrayList<>();
+
+        FakeServer then(int status, String eTag, String body) {
+            Response.Builder response = Response.builder()
+                    .status(status)
+                    .reason("")
+                    .headers(eTag == null ? Map.of() : Map.of("ETag", List.of(eTag)));
+            responses.add(body == null ? response : response.body(body, StandardCharsets.UTF_8));
+            return this;
+        }
+
+        @Override
+        public Response execute(Request request, Request.Options options) {
+            received.add(request);
+            return responses.removeFirst().request(request).build();
+        }
+
+        Collection<String> ifNoneMatch(int call) {
+            return received.get(call).headers().get("If-None-Match");
+        }
+    }
+
+    private static Request request(Request.HttpMethod method) {
+        return Request.create(method, URL, Map.<String, Collection<String>>of("Accept", List.of("application/cbor")),
+                null, StandardCharsets.UTF_8, null);
+    }
+
+    private static String body(Response response) throws IOException {
+        return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenCachedBody_whenServiceAnswers304_thenCachedBodyIsReturnedAs200() throws IOException {
+        FakeServer server = new FakeServer().then(200, "\"abc\"", "[1,2,3]").then(304, "\"abc\"", null);
+        ETagCachingClient client = new ETagCachingClient(server, 1024);
+
+        assertEquals("[1,2,3]", body(client.execute(request(Request.HttpMethod.GET), null)));
+        Response revalidated = client.execute(request(Request.HttpMethod.GET), null);
+
+        assertNull(server.ifNoneMatch(0));
+        assertEquals(List.of("\"abc\""), List.copyOf(server.ifNoneMatch(1)));
+        assertEquals(200, revalidated.status());
+        assertEquals("[1,2,3]", body(revalidated));
+    }
+
+    @Test
+    void givenChangedResource_whenServiceAnswers200_thenNewBodyReplacesCachedOne() throws IOException {
+        FakeServer server = new FakeServer()
+                .then(200, "\"v1\"", "[1]")
+                .then(200, "\"v2\"", "[1,2]")
+                .then(304, "\"v2\"", null);
+        ETagCachingClient client = new ETagCachingClient(server, 1024);
+
+        client.execute(request(Request.HttpMethod.GET), null);
+        assertEquals("[1,2]", body(client.execute(request(Request.HttpMethod.GET), null)));
+        assertEquals("[1,2]", body(client.execute(request(Request.HttpMethod.GET), null)));
+
+        assertEquals(List.of("\"v2\""), List.copyOf(server.ifNoneMatch(2)));
+    }
+
+    @Test
+    void givenResponseWithoutETag_whenFetchedTwice_thenNothingIsCached() throws IOException {
+        FakeServer server = new FakeServer().then(200, null, "[]").then(200, null, "[]");
+        ETagCachingClient client = new ETagCachingClient(server, 1024);
+
+        client.execute(request(Request.HttpMethod.GET), null);
+        client.execute(request(Request.HttpMethod.GET), null);
+
+        assertNull(server.ifNoneMatch(1));
+    }
+
+    @Test
+    void givenNonGetRequest_whenExecuted_thenPassedThroughUncached() throws IOException {
+        FakeServer server = new FakeServer().then(200, "\"abc\"", "{}").then(200, "\"abc\"", "{}");
+        ETagCachingClient client = new ETagCachingClient(server, 1024);
+
+        client.execute(request(Request.HttpMethod.POST), null);
+        client.execute(request(Request.HttpMethod.GET), null);
+
+        assertNull(server.ifNoneMatch(1));
+    }
+
+    @Test
+    void givenBodyLargerThanCache_whenFetchedTwice_thenNotRevalidated() throws IOException {
+        FakeServer server = new FakeServer().then(200, "\"abc\"", "0123456789").then(200, "\"abc\"", "0123456789");
+        ETagCachingClient client = new ETagCachingClient(server, 4);
+
+        assertEquals("0123456789", body(client.execute(request(Request.HttpMethod.GET), null)));
+        client.execute(request(Request.HttpMethod.GET), null);
+
+        assertNull(server.ifNoneMatch(1));
+    }
+}
@@ -0,0 +1,28 @@
+package app.lifeplanner.dailyquotes.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Opt-in binary bodies for service-to-service calls. A client that sends Accept / Content-Type application/cbor
+// or application/x-jackson-smile gets the same payloads as JSON clients, with UUIDs written as 16 raw bytes
+// (both formats carry binary natively) instead of 36-character strings. JSON stays the default: these converters
+// take the place of Spring MVC's own CBOR/Smile converters, which come after the JSON one.
+// Both mappers start from Boot's Jackson2ObjectMapperBuilder, so spring.jackson.* settings apply to them too.
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,13 @@
+package app.lifeplanner.dailyquotes.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache sizes, TTLs and stats recording are driven by spring.cache.* in application.properties
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String QUOTES_BY_ID = "quotesById";
+    public static final String QUOTES_BY_USER = "quotesByUser";
+}
@@ -0,0 +1,43 @@
+package app.lifeplanner.dailyquotes.config;
+
+import app.lifeplanner.dailyquotes.repository.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Read/write splitting (daily-quotes.replica.enabled=true). The primary pool is configured by spring.datasource.*
+// as usual and the replica by daily-quotes.replica.datasource.* (jdbc-url, username, password, Hikari settings).
+// Both pools live inside the one DataSource bean, so the SQL statement proxy wraps it once; their Hikari metrics
+// are tagged pool=primary and pool=replica.
+@Configuration
+@ConditionalOnProperty(name = "daily-quotes.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                 Environment environment,
+                                                 MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        HikariDataSource replica = new HikariDataSource();
+        binder.bind("daily-quotes.replica.datasource", Bindable.ofInstance(replica));
+        return new ReadWriteRoutingDataSource(pool(primary, "primary", meterRegistry), pool(replica, "replica", meterRegistry),
+                meterRegistry);
+    }
+
+    private static HikariDataSource pool(HikariDataSource pool, String name, MeterRegistry meterRegistry) {
+        if (pool.getPoolName() == null) {
+            pool.setPoolName(name);
+        }
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
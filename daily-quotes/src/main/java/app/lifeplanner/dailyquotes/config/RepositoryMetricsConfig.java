@@ -0,0 +1,76 @@
+package app.lifeplanner.dailyquotes.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class RepositoryMetricsConfig {
+
+    // Times the hand-written @Repository classes (the jdbc DailyQuoteStore, bulk, export, ingest and shard
+    // repositories) under the metric Spring Data records for its own repositories, with the same repository, method,
+    // state and exception tags, so per-method latency stays visible whichever persistence backend is configured.
+    // Spring Data repositories are left to Spring Data. Static so it is registered before the repositories are created.
+    @Bean
+    public static AbstractAdvisingBeanPostProcessor repositoryTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                                 Environment environment) {
+        String metricName = environment.getProperty("management.metrics.data.repository.metric-name",
+                "spring.data.repository.invocations");
+        return new RepositoryTimingPostProcessor(meterRegistry, metricName);
+    }
+
+    static class RepositoryTimingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+        RepositoryTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, String metricName) {
+            StaticMethodMatcherPointcut repositoryMethods = new StaticMethodMatcherPointcut() {
+                @Override
+                public boolean matches(Method method, Class<?> targetClass) {
+                    return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+                }
+            };
+            repositoryMethods.setClassFilter(type -> type.isAnnotationPresent(Repository.class)
+                    && !org.springframework.data.repository.Repository.class.isAssignableFrom(type));
+            this.advisor = new DefaultPointcutAdvisor(repositoryMethods, timing(meterRegistry, metricName));
+            setBeforeExistingAdvisors(true);
+            setProxyTargetClass(true);
+        }
+
+        // The registry is looked up on the first call rather than up front, so it is still set up by Spring Boot
+        private static MethodInterceptor timing(ObjectProvider<MeterRegistry> meterRegistry, String metricName) {
+            return invocation -> {
+                long start = System.nanoTime();
+                Throwable failure = null;
+                try {
+                    return invocation.proceed();
+                } catch (Throwable e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    MeterRegistry registry = meterRegistry.getIfAvailable();
+                    if (registry != null) {
+                        Timer.builder(metricName)
+                                .tag("repository", ClassUtils.getUserClass(invocation.getThis()).getSimpleName())
+                                .tag("method", invocation.getMethod().getName())
+                                .tag("state", failure == null ? "SUCCESS" : "ERROR")
+                                .tag("exception", failure == null ? "None" : failure.getClass().getSimpleName())
+                                .register(registry)
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package app.lifeplanner.dailyquotes.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String QUOTE_OF_THE_DAY_EXECUTOR = "quoteOfTheDayExecutor";
+
+    // Bounded pool for the nightly quote-of-the-day run, so it cannot starve request handling
+    @Bean(name = QUOTE_OF_THE_DAY_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor quoteOfTheDayExecutor(@Value("${daily-quotes.quote-of-the-day.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("quote-of-the-day-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Virtual-thread mode: one virtual thread per chunk, still capped so the run cannot drain the connection pool
+    @Bean(name = QUOTE_OF_THE_DAY_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualQuoteOfTheDayExecutor(@Value("${daily-quotes.quote-of-the-day.parallelism:4}") int parallelism) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("quote-of-the-day-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(parallelism);
+        return executor;
+    }
+}
@@ -0,0 +1,69 @@
+package app.lifeplanner.dailyquotes.config;
+
+import app.lifeplanner.dailyquotes.repository.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Horizontal sharding by owner (daily-quotes.sharding.enabled=true). daily-quotes.sharding.shards names every
+// shard database and each one is configured under daily-quotes.sharding.datasource.<name>.* (jdbc-url, username,
+// password, Hikari settings); spring.datasource.* is not used. All pools live inside the one DataSource bean, so
+// the SQL statement proxy wraps it once; their Hikari metrics are tagged pool=<name>.
+@Configuration
+@ConditionalOnProperty(name = "daily-quotes.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource dataSource(Environment environment, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        if (binder.bind("daily-quotes.replica.enabled", Boolean.class).orElse(false)) {
+            throw new IllegalStateException("daily-quotes.sharding and daily-quotes.replica cannot be enabled together");
+        }
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (String name : shardNames(binder)) {
+            HikariDataSource pool = new HikariDataSource();
+            binder.bind("daily-quotes.sharding.datasource." + name, Bindable.ofInstance(pool));
+            if (pool.getPoolName() == null) {
+                pool.setPoolName(name);
+            }
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.put(name, pool);
+        }
+        return new ShardRoutingDataSource(shards, meterRegistry);
+    }
+
+    // Spring has Hibernate hold a connection until the session closes, and the open-in-view session spans the
+    // whole request; release it after every transaction instead, so each transaction is routed to its own shard
+    @Bean
+    public HibernatePropertiesCustomizer shardedConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Flyway only knows the routing DataSource, so migrate every shard in turn (new shards included)
+    @Bean
+    public FlywayMigrationStrategy shardedMigrationStrategy(Environment environment) {
+        List<String> shardNames = shardNames(Binder.get(environment));
+        return flyway -> shardNames.forEach(shard -> ShardRoutingDataSource.on(shard, flyway::migrate));
+    }
+
+    private static List<String> shardNames(Binder binder) {
+        return binder.bind("daily-quotes.sharding.shards", Bindable.listOf(String.class))
+                .orElseThrow(() -> new IllegalStateException("daily-quotes.sharding.shards must name at least one shard"));
+    }
+}
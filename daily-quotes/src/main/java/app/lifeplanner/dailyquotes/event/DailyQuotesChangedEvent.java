@@ -0,0 +1,7 @@
+package app.lifeplanner.dailyquotes.event;
+
+import java.util.UUID;
+
+// Published whenever a user's set of quotes (or one of their quotes) changes
+public record DailyQuotesChangedEvent(UUID userId) {
+}
@@ -0,0 +1,7 @@
+package app.lifeplanner.dailyquotes.exception;
+
+public class InvalidPageCursorException extends RuntimeException {
+    public InvalidPageCursorException(String message) {
+        super(message);
+    }
+}
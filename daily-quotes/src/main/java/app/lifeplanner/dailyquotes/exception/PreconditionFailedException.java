@@ -0,0 +1,7 @@
+package app.lifeplanner.dailyquotes.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package app.lifeplanner.dailyquotes.exception;
+
+public class SqlStatementBudgetExceededException extends RuntimeException {
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
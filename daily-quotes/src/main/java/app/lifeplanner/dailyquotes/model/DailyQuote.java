@@ -15,11 +15,14 @@ import java.util.UUID;
 @AllArgsConstructor
 public class DailyQuote {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @QuoteId
     private UUID id;
 
     @Column(nullable = false)
     private String quoteImage;
 
     private UUID userId;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package app.lifeplanner.dailyquotes.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.UUID;
+
+// Read-only row of daily_quote, projected by the query itself and serialized as the response body.
+// Nothing is attached to a persistence context, so reads keep no entity snapshot and need no second DTO.
+// The version travels in the ETag header rather than in the body.
+public record DailyQuoteView(UUID id, String quoteImage, UUID userId, @JsonIgnore Long version) {
+}
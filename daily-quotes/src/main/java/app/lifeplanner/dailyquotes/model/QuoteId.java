@@ -0,0 +1,15 @@
+package app.lifeplanner.dailyquotes.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Generated quote id: UUIDv7 with the owner's shard slot, so the id alone tells which shard holds the quote
+@IdGeneratorType(QuoteIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface QuoteId {
+}
@@ -0,0 +1,50 @@
+package app.lifeplanner.dailyquotes.model;
+
+import java.util.UUID;
+
+// Every quote belongs to one of SLOTS shard slots, chosen by its owner. The slot is written into the quote's id
+// when the id is minted, so the shard holding a quote is known from the id alone. Ids minted before sharding
+// (random v4 ids) carry no slot. Slots never change; sharding only changes which shard owns which slot (ShardRing).
+public final class ShardSlots {
+
+    public static final int SLOT_BITS = 10;
+    public static final int SLOTS = 1 << SLOT_BITS;
+
+    // The slot takes the top bits of the v7 random field, just below the two variant bits
+    private static final int SLOT_SHIFT = 62 - SLOT_BITS;
+    private static final long SLOT_MASK = (long) (SLOTS - 1) << SLOT_SHIFT;
+
+    private ShardSlots() {
+    }
+
+    // Quotes without an owner all live in slot 0
+    public static int ofUser(UUID userId) {
+        if (userId == null) {
+            return 0;
+        }
+        return (int) (mix(userId.getMostSignificantBits() ^ userId.getLeastSignificantBits()) >>> (64 - SLOT_BITS));
+    }
+
+    // Only v7 ids have the slot bits; the bits of any other id mean nothing
+    public static boolean carriesSlot(UUID quoteId) {
+        return quoteId.version() == 7;
+    }
+
+    public static int ofQuote(UUID quoteId) {
+        return (int) ((quoteId.getLeastSignificantBits() & SLOT_MASK) >>> SLOT_SHIFT);
+    }
+
+    static long withSlot(long leastSigBits, int slot) {
+        return (leastSigBits & ~SLOT_MASK) | ((long) slot << SLOT_SHIFT);
+    }
+
+    // MurmurHash3 finalizer: user ids are not always random v4 ids, so spread their bits before taking the slot
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,61 @@
+package app.lifeplanner.dailyquotes.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time-ordered UUIDv7 (RFC 9562): 48-bit Unix millis, version 7, a 12-bit sequence, variant bits, 62 random bits.
+// Consecutive ids land next to each other in the clustered index instead of scattering like random v4 ids.
+// Quote ids carry their owner's shard slot in the top random bits (see ShardSlots).
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    // Last issued (millis << 12 | sequence); a sequence overflow carries into the millis, keeping ids monotonic
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        return next(ThreadLocalRandom.current().nextInt(ShardSlots.SLOTS));
+    }
+
+    // Id for a new quote of the given user (null for quotes without an owner)
+    public static UUID forOwner(UUID userId) {
+        return next(ShardSlots.ofUser(userId));
+    }
+
+    public static UUID next(int slot) {
+        long state = nextState(System.currentTimeMillis());
+        long millis = state >>> SEQUENCE_BITS;
+        long sequence = state & ((1L << SEQUENCE_BITS) - 1);
+
+        long mostSigBits = (millis << 16) | (0x7L << 12) | sequence;
+        long random = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        long leastSigBits = ShardSlots.withSlot(random, slot);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    // Extract the creation time encoded in a v7 id
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static long nextState(long nowMillis) {
+        while (true) {
+            long last = LAST_STATE.get();
+            long candidate = nowMillis << SEQUENCE_BITS;
+            // Same (or earlier, after a clock step back) millisecond: bump the sequence instead
+            long next = candidate > last ? candidate : last + 1;
+            if (LAST_STATE.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Reads quotes through a forward-only, read-only cursor and hands each row to the caller as it arrives,
+// so exports never hold more than one fetch batch in memory
+@Repository
+public class DailyQuoteExportRepository {
+
+    private static final String SELECT_ALL = "SELECT id, quote_image, user_id FROM daily_quote";
+    private static final String SELECT_BY_USER = SELECT_ALL + " WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DailyQuoteExportRepository(DataSource dataSource,
+                                      @Value("${daily-quotes.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void streamAll(Consumer<DailyQuote> sink) {
+        jdbcTemplate.query(SELECT_ALL, rowHandler(sink));
+    }
+
+    public void streamByUserId(UUID userId, Consumer<DailyQuote> sink) {
+        jdbcTemplate.query(SELECT_BY_USER, rowHandler(sink), (Object) JdbcUuids.toBytes(userId));
+    }
+
+    private RowCallbackHandler rowHandler(Consumer<DailyQuote> sink) {
+        return (ResultSet rs) -> sink.accept(mapRow(rs));
+    }
+
+    private DailyQuote mapRow(ResultSet rs) throws SQLException {
+        return DailyQuote.builder()
+                .id(JdbcUuids.fromBytes(rs.getBytes("id")))
+                .quoteImage(rs.getString("quote_image"))
+                .userId(JdbcUuids.fromBytes(rs.getBytes("user_id")))
+                .build();
+    }
+}
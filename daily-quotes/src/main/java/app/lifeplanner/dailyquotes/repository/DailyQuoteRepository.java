@@ -1,13 +1,90 @@
 package app.lifeplanner.dailyquotes.repository;
 
 import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+// JPA backend of DailyQuoteStore; the CRUD methods come from JpaRepository, the rest are derived or @Query methods
 @Repository
-public interface DailyQuoteRepository extends JpaRepository<DailyQuote, UUID> {
+public interface DailyQuoteRepository extends JpaRepository<DailyQuote, UUID>, DailyQuoteStore {
+    // Redeclared so the generic signatures of JpaRepository and DailyQuoteStore resolve to one method
+    @Override
+    <S extends DailyQuote> S save(S dailyQuote);
+
+    @Override
+    <S extends DailyQuote> List<S> saveAll(Iterable<S> dailyQuotes);
+
     List<DailyQuote> findByUserId(UUID userId);
-}
\ No newline at end of file
+
+    // DTO projections (select new DailyQuoteView(...)) in read-only transactions: Hibernate skips the flush
+    // before the query and there are no managed entities to snapshot or dirty-check. The JPQL is spelled out
+    // so every call reuses one cached query plan instead of re-deriving the query from the method name.
+    String SELECT_VIEW = "select new app.lifeplanner.dailyquotes.model.DailyQuoteView(q.id, q.quoteImage, q.userId, q.version) " +
+            "from DailyQuote q ";
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_VIEW + "where q.id = :id")
+    Optional<DailyQuoteView> findViewById(@Param("id") UUID id);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_VIEW + "where q.userId = :userId order by q.id")
+    List<DailyQuoteView> findViewsByUserId(@Param("userId") UUID userId);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_VIEW + "where q.id in :ids")
+    List<DailyQuoteView> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_VIEW + "where q.userId = :userId order by q.id")
+    List<DailyQuoteView> findViewsByUserIdOrderByIdAsc(@Param("userId") UUID userId, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_VIEW + "where q.userId = :userId and q.id > :afterId order by q.id")
+    List<DailyQuoteView> findViewsByUserIdAndIdGreaterThanOrderByIdAsc(@Param("userId") UUID userId,
+                                                                        @Param("afterId") UUID afterId,
+                                                                        Limit limit);
+
+    Optional<QuoteOwner> findOwnerById(UUID id);
+
+    List<DailyQuote> findByUserIdIn(Collection<UUID> userIds);
+
+    @Query("select distinct q.userId from DailyQuote q where q.userId is not null order by q.userId")
+    List<UUID> findUserIds(Limit limit);
+
+    @Query("select distinct q.userId from DailyQuote q where q.userId > :afterUserId order by q.userId")
+    List<UUID> findUserIdsAfter(@Param("afterUserId") UUID afterUserId, Limit limit);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update DailyQuote q set q.quoteImage = :quoteImage, q.version = q.version + 1 " +
+            "where q.id = :id and q.userId = :userId and (:expectedVersion is null or q.version = :expectedVersion)")
+    int updateIfOwnedBy(@Param("id") UUID id,
+                        @Param("quoteImage") String quoteImage,
+                        @Param("userId") UUID userId,
+                        @Param("expectedVersion") Long expectedVersion);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update DailyQuote q set q.quoteImage = :quoteImage, q.userId = :userId, q.version = q.version + 1 " +
+            "where q.id = :id and (:expectedVersion is null or q.version = :expectedVersion)")
+    int updateIfVersion(@Param("id") UUID id,
+                        @Param("quoteImage") String quoteImage,
+                        @Param("userId") UUID userId,
+                        @Param("expectedVersion") Long expectedVersion);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from DailyQuote q where q.id = :id and (:expectedVersion is null or q.version = :expectedVersion)")
+    int deleteIfVersion(@Param("id") UUID id, @Param("expectedVersion") Long expectedVersion);
+}
@@ -0,0 +1,59 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Everything the services need from persistence. Implemented by the JPA DailyQuoteRepository (default) and by
+// JdbcDailyQuoteStore; pick one with daily-quotes.persistence.backend=jpa|jdbc.
+public interface DailyQuoteStore {
+
+    // Inserts a quote without an id (one is generated); a quote with an id is written over the stored row
+    <S extends DailyQuote> S save(S dailyQuote);
+
+    <S extends DailyQuote> List<S> saveAll(Iterable<S> dailyQuotes);
+
+    Optional<DailyQuote> findById(UUID id);
+
+    boolean existsById(UUID id);
+
+    List<DailyQuote> findByUserId(UUID userId);
+
+    // Read endpoints: rows projected straight into DailyQuoteView, never loaded as entities
+
+    Optional<DailyQuoteView> findViewById(UUID id);
+
+    // Ordered by id, so the same rows always serialize (and hash into the list ETag) the same way
+    List<DailyQuoteView> findViewsByUserId(UUID userId);
+
+    // One IN query; ids without a row are simply absent from the result
+    List<DailyQuoteView> findViewsByIdIn(Collection<UUID> ids);
+
+    // Keyset pagination: first page, then every following page starts after the last id seen
+    List<DailyQuoteView> findViewsByUserIdOrderByIdAsc(UUID userId, Limit limit);
+
+    List<DailyQuoteView> findViewsByUserIdAndIdGreaterThanOrderByIdAsc(UUID userId, UUID afterId, Limit limit);
+
+    Optional<QuoteOwner> findOwnerById(UUID id);
+
+    List<DailyQuote> findByUserIdIn(Collection<UUID> userIds);
+
+    // Walks the distinct owners in keyset order, one chunk at a time
+    List<UUID> findUserIds(Limit limit);
+
+    List<UUID> findUserIdsAfter(UUID afterUserId, Limit limit);
+
+    // Single-statement writes: callers detect "not found" / "version mismatch" from the affected-row count.
+    // A null expectedVersion skips the version check.
+
+    int updateIfOwnedBy(UUID id, String quoteImage, UUID userId, Long expectedVersion);
+
+    int updateIfVersion(UUID id, String quoteImage, UUID userId, Long expectedVersion);
+
+    int deleteIfVersion(UUID id, Long expectedVersion);
+}
@@ -0,0 +1,229 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.model.UuidV7Generator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Plain-JDBC backend of DailyQuoteStore (daily-quotes.persistence.backend=jdbc). daily_quote is a single flat
+// table, so rows map straight to DailyQuote without a persistence context, dirty checking or merge-on-save.
+// Statements join the surrounding Spring transaction like the JPA repository does.
+@Repository
+@Primary
+@ConditionalOnProperty(name = "daily-quotes.persistence.backend", havingValue = "jdbc")
+public class JdbcDailyQuoteStore implements DailyQuoteStore {
+
+    private static final String COLUMNS = "id, quote_image, user_id, version";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM daily_quote";
+    private static final String INSERT = "INSERT INTO daily_quote (" + COLUMNS + ") VALUES (:id, :quoteImage, :userId, :version)";
+    // COALESCE makes a null expectedVersion match any stored version
+    private static final String VERSION_MATCHES = "version = COALESCE(:expectedVersion, version)";
+
+    private static final RowMapper<DailyQuote> ROW_MAPPER = (rs, rowNum) -> DailyQuote.builder()
+            .id(JdbcUuids.fromBytes(rs.getBytes("id")))
+            .quoteImage(rs.getString("quote_image"))
+            .userId(JdbcUuids.fromBytes(rs.getBytes("user_id")))
+            .version(rs.getLong("version"))
+            .build();
+
+    private static final RowMapper<DailyQuoteView> VIEW_MAPPER = (rs, rowNum) -> new DailyQuoteView(
+            JdbcUuids.fromBytes(rs.getBytes("id")),
+            rs.getString("quote_image"),
+            JdbcUuids.fromBytes(rs.getBytes("user_id")),
+            rs.getLong("version"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JdbcDailyQuoteStore(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public <S extends DailyQuote> S save(S dailyQuote) {
+        if (dailyQuote.getId() != null && overwrite(dailyQuote)) {
+            return dailyQuote;
+        }
+        jdbcTemplate.update(INSERT, newRow(dailyQuote));
+        return dailyQuote;
+    }
+
+    // New quotes go out as one JDBC batch; quotes that already carry an id are written one by one
+    @Override
+    public <S extends DailyQuote> List<S> saveAll(Iterable<S> dailyQuotes) {
+        List<S> saved = new ArrayList<>();
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        for (S dailyQuote : dailyQuotes) {
+            if (dailyQuote.getId() == null || !overwrite(dailyQuote)) {
+                inserts.add(newRow(dailyQuote));
+            }
+            saved.add(dailyQuote);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, inserts.toArray(SqlParameterSource[]::new));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<DailyQuote> findById(UUID id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = :id", params().addValue("id", JdbcUuids.toBytes(id)), ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM daily_quote WHERE id = :id",
+                params().addValue("id", JdbcUuids.toBytes(id)), Integer.class).isEmpty();
+    }
+
+    @Override
+    public List<DailyQuote> findByUserId(UUID userId) {
+        return jdbcTemplate.query(SELECT + " WHERE user_id = :userId", params().addValue("userId", JdbcUuids.toBytes(userId)), ROW_MAPPER);
+    }
+
+    // The view queries run without a transaction: each is a single SELECT, so autocommit already gives it
+    // a consistent snapshot and there is no session state to flush
+    @Override
+    public Optional<DailyQuoteView> findViewById(UUID id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = :id", params().addValue("id", JdbcUuids.toBytes(id)), VIEW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<DailyQuoteView> findViewsByUserId(UUID userId) {
+        return jdbcTemplate.query(SELECT + " WHERE user_id = :userId ORDER BY id", params().addValue("userId", JdbcUuids.toBytes(userId)), VIEW_MAPPER);
+    }
+
+    @Override
+    public List<DailyQuoteView> findViewsByIdIn(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<byte[]> idBytes = ids.stream().map(JdbcUuids::toBytes).toList();
+        return jdbcTemplate.query(SELECT + " WHERE id IN (:ids)", params().addValue("ids", idBytes), VIEW_MAPPER);
+    }
+
+    @Override
+    public List<DailyQuoteView> findViewsByUserIdOrderByIdAsc(UUID userId, Limit limit) {
+        return jdbcTemplate.query(SELECT + " WHERE user_id = :userId ORDER BY id LIMIT :limit",
+                params().addValue("userId", JdbcUuids.toBytes(userId)).addValue("limit", max(limit)), VIEW_MAPPER);
+    }
+
+    @Override
+    public List<DailyQuoteView> findViewsByUserIdAndIdGreaterThanOrderByIdAsc(UUID userId, UUID afterId, Limit limit) {
+        return jdbcTemplate.query(SELECT + " WHERE user_id = :userId AND id > :afterId ORDER BY id LIMIT :limit",
+                params().addValue("userId", JdbcUuids.toBytes(userId))
+                        .addValue("afterId", JdbcUuids.toBytes(afterId))
+                        .addValue("limit", max(limit)),
+                VIEW_MAPPER);
+    }
+
+    @Override
+    public Optional<QuoteOwner> findOwnerById(UUID id) {
+        return jdbcTemplate.query("SELECT user_id FROM daily_quote WHERE id = :id", params().addValue("id", JdbcUuids.toBytes(id)),
+                        (rs, rowNum) -> JdbcUuids.fromBytes(rs.getBytes("user_id")))
+                .stream()
+                .<QuoteOwner>map(userId -> () -> userId)
+                .findFirst();
+    }
+
+    @Override
+    public List<DailyQuote> findByUserIdIn(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        List<byte[]> ids = userIds.stream().map(JdbcUuids::toBytes).toList();
+        return jdbcTemplate.query(SELECT + " WHERE user_id IN (:userIds)", params().addValue("userIds", ids), ROW_MAPPER);
+    }
+
+    @Override
+    public List<UUID> findUserIds(Limit limit) {
+        return jdbcTemplate.query("SELECT DISTINCT user_id FROM daily_quote WHERE user_id IS NOT NULL ORDER BY user_id LIMIT :limit",
+                params().addValue("limit", max(limit)), (rs, rowNum) -> JdbcUuids.fromBytes(rs.getBytes("user_id")));
+    }
+
+    @Override
+    public List<UUID> findUserIdsAfter(UUID afterUserId, Limit limit) {
+        return jdbcTemplate.query("SELECT DISTINCT user_id FROM daily_quote WHERE user_id > :afterUserId ORDER BY user_id LIMIT :limit",
+                params().addValue("afterUserId", JdbcUuids.toBytes(afterUserId)).addValue("limit", max(limit)),
+                (rs, rowNum) -> JdbcUuids.fromBytes(rs.getBytes("user_id")));
+    }
+
+    @Override
+    public int updateIfOwnedBy(UUID id, String quoteImage, UUID userId, Long expectedVersion) {
+        return jdbcTemplate.update("UPDATE daily_quote SET quote_image = :quoteImage, version = version + 1 " +
+                        "WHERE id = :id AND user_id = :userId AND " + VERSION_MATCHES,
+                params().addValue("id", JdbcUuids.toBytes(id))
+                        .addValue("quoteImage", quoteImage)
+                        .addValue("userId", JdbcUuids.toBytes(userId), Types.BINARY)
+                        .addValue("expectedVersion", expectedVersion, Types.BIGINT));
+    }
+
+    @Override
+    public int updateIfVersion(UUID id, String quoteImage, UUID userId, Long expectedVersion) {
+        return jdbcTemplate.update("UPDATE daily_quote SET quote_image = :quoteImage, user_id = :userId, version = version + 1 " +
+                        "WHERE id = :id AND " + VERSION_MATCHES,
+                params().addValue("id", JdbcUuids.toBytes(id))
+                        .addValue("quoteImage", quoteImage)
+                        .addValue("userId", JdbcUuids.toBytes(userId), Types.BINARY)
+                        .addValue("expectedVersion", expectedVersion, Types.BIGINT));
+    }
+
+    @Override
+    public int deleteIfVersion(UUID id, Long expectedVersion) {
+        return jdbcTemplate.update("DELETE FROM daily_quote WHERE id = :id AND " + VERSION_MATCHES,
+                params().addValue("id", JdbcUuids.toBytes(id)).addValue("expectedVersion", expectedVersion, Types.BIGINT));
+    }
+
+    // Writes a quote that already has an id over the stored row; false if there is no such row yet
+    private boolean overwrite(DailyQuote dailyQuote) {
+        int updated = jdbcTemplate.update("UPDATE daily_quote SET quote_image = :quoteImage, user_id = :userId, version = version + 1 " +
+                        "WHERE id = :id",
+                params().addValue("id", JdbcUuids.toBytes(dailyQuote.getId()))
+                        .addValue("quoteImage", dailyQuote.getQuoteImage())
+                        .addValue("userId", JdbcUuids.toBytes(dailyQuote.getUserId()), Types.BINARY));
+        if (updated == 1) {
+            dailyQuote.setVersion(dailyQuote.getVersion() == null ? null : dailyQuote.getVersion() + 1);
+        }
+        return updated == 1;
+    }
+
+    // Assigns the id and initial version the way the JPA entity would on persist
+    private static SqlParameterSource newRow(DailyQuote dailyQuote) {
+        if (dailyQuote.getId() == null) {
+            dailyQuote.setId(UuidV7Generator.forOwner(dailyQuote.getUserId()));
+        }
+        dailyQuote.setVersion(0L);
+        return params()
+                .addValue("id", JdbcUuids.toBytes(dailyQuote.getId()))
+                .addValue("quoteImage", dailyQuote.getQuoteImage())
+                .addValue("userId", JdbcUuids.toBytes(dailyQuote.getUserId()), Types.BINARY)
+                .addValue("version", 0L);
+    }
+
+    private static int max(Limit limit) {
+        return limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+    }
+
+    private static MapSqlParameterSource params() {
+        return new MapSqlParameterSource();
+    }
+}
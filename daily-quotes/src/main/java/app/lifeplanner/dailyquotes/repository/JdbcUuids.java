@@ -0,0 +1,29 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+// UUID columns are bound and read as 16 raw bytes, which both MySQL BINARY(16) and H2 UUID accept
+public final class JdbcUuids {
+
+    private JdbcUuids() {
+    }
+
+    public static byte[] toBytes(UUID uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,53 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Types;
+import java.util.UUID;
+
+// Set-based writes over all of a user's quotes, one bounded chunk per statement so row locks are held briefly
+// even for very large users. DELETE/UPDATE ... LIMIT is not expressible in JPQL, so this is plain SQL
+// (accepted by MySQL and H2) on both persistence backends; callers repeat a chunk until it affects fewer rows
+// than the chunk size.
+@Repository
+public class QuoteBulkRepository {
+
+    private static final String DELETE_CHUNK = "DELETE FROM daily_quote WHERE user_id = :userId LIMIT :limit";
+    // Every moved quote gets a new version, so ETags held for it stop matching
+    private static final String TRANSFER_CHUNK = "UPDATE daily_quote SET user_id = :toUserId, version = version + 1 " +
+            "WHERE user_id = :fromUserId LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public QuoteBulkRepository(DataSource dataSource,
+                               @Value("${daily-quotes.bulk.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    // Deletes up to one chunk of the user's quotes; returns the number deleted
+    public int deleteChunkByUserId(UUID userId) {
+        return jdbcTemplate.update(DELETE_CHUNK, new MapSqlParameterSource()
+                .addValue("userId", JdbcUuids.toBytes(userId), Types.BINARY)
+                .addValue("limit", chunkSize));
+    }
+
+    // Moves up to one chunk of fromUserId's quotes to toUserId; returns the number moved
+    public int transferChunk(UUID fromUserId, UUID toUserId) {
+        return jdbcTemplate.update(TRANSFER_CHUNK, new MapSqlParameterSource()
+                .addValue("fromUserId", JdbcUuids.toBytes(fromUserId), Types.BINARY)
+                .addValue("toUserId", JdbcUuids.toBytes(toUserId), Types.BINARY)
+                .addValue("limit", chunkSize));
+    }
+}
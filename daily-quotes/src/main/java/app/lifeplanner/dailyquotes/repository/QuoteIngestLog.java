@@ -0,0 +1,302 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only log of accepted quotes for write-behind ingestion, kept in numbered segment files.
+// One writer thread takes every append queued while the previous fsync ran, writes them and fsyncs once
+// (group commit), so an append completes only when its record is on disk. Records are framed as
+// [length][crc32][payload]; a torn record at the end of a segment (crash mid-write, never acknowledged)
+// ends recovery of that segment, so a group that fails to write is cut off again before the next one is appended. The checkpoint file holds the position up to which records are in the
+// database; segments before it are deleted. Quotes the database will never take are moved to the dead-letter
+// file, in the same framing, for an operator to inspect.
+@Slf4j
+public class QuoteIngestLog implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String DEAD_LETTER = "dead-letter";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_GROUP = 1_000;
+
+    // A durable record: the quote and the position just past it
+    public record Entry(DailyQuote quote, long segment, long endOffset) {
+    }
+
+    private record Append(byte[] record, DailyQuote quote, CompletableFuture<Entry> durable) {
+    }
+
+    // Opens a segment file for appending (replaced in tests to fail writes)
+    interface SegmentOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Consumer<Entry> onDurable;
+    private final SegmentOpener segmentOpener;
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private long segment;
+    private FileChannel channel;
+    private volatile boolean closed;
+
+    // onDurable runs on the writer thread, in log order, before the appending caller is released
+    public QuoteIngestLog(Path directory, long segmentBytes, Consumer<Entry> onDurable) {
+        this(directory, segmentBytes, onDurable, path -> FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    QuoteIngestLog(Path directory, long segmentBytes, Consumer<Entry> onDurable, SegmentOpener segmentOpener) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.onDurable = onDurable;
+        this.segmentOpener = segmentOpener;
+        this.writer = Thread.ofPlatform().name("quote-ingest-log").daemon().unstarted(this::writeLoop);
+    }
+
+    // Returns the records that are not in the database yet, in log order, and opens a fresh segment for
+    // new appends. Must be called once, before the first append.
+    public List<Entry> recover() throws IOException {
+        Files.createDirectories(directory);
+        long[] checkpoint = readCheckpoint();
+        List<Long> segments = segments();
+        List<Entry> undrained = new ArrayList<>();
+        for (long number : segments) {
+            if (number >= checkpoint[0]) {
+                readSegment(number, number == checkpoint[0] ? checkpoint[1] : 0, undrained);
+            }
+        }
+        segment = segments.isEmpty() ? Math.max(1, checkpoint[0]) : segments.get(segments.size() - 1) + 1;
+        channel = open(segment);
+        writer.start();
+        return undrained;
+    }
+
+    // Completes once the quote is fsynced, or exceptionally if it could not be written
+    public CompletableFuture<Entry> append(DailyQuote quote) {
+        CompletableFuture<Entry> durable = new CompletableFuture<>();
+        if (closed) {
+            durable.completeExceptionally(new IOException("Ingest log is closed"));
+            return durable;
+        }
+        appends.add(new Append(encode(quote), quote, durable));
+        return durable;
+    }
+
+    // Records up to and including entry are in the database: persist that position and drop older segments
+    public void checkpoint(Entry entry) throws IOException {
+        Path tmp = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.allocate(16).putLong(entry.segment()).putLong(entry.endOffset()).flip());
+            out.force(true);
+        }
+        Files.move(tmp, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (long number : segments()) {
+            if (number < entry.segment()) {
+                Files.deleteIfExists(segmentPath(number));
+            }
+        }
+    }
+
+    // Appends the quote to the dead-letter file and fsyncs it; the drain calls this before checkpointing past it
+    public void deadLetter(DailyQuote quote) throws IOException {
+        try (FileChannel out = FileChannel.open(directory.resolve(DEAD_LETTER), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            out.write(ByteBuffer.wrap(encode(quote)));
+            out.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void writeLoop() {
+        List<Append> group = new ArrayList<>();
+        while (true) {
+            try {
+                group.add(appends.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            appends.drainTo(group, MAX_GROUP - 1);
+            writeGroup(group);
+            group.clear();
+        }
+        // Anything still queued at shutdown was never acknowledged
+        appends.forEach(append -> append.durable().completeExceptionally(new IOException("Ingest log is closed")));
+    }
+
+    private void writeGroup(List<Append> group) {
+        List<Entry> entries = new ArrayList<>(group.size());
+        long start = -1;
+        try {
+            if (channel.size() >= segmentBytes) {
+                channel.close();
+                channel = open(++segment);
+            }
+            start = channel.position();
+            for (Append append : group) {
+                channel.write(ByteBuffer.wrap(append.record()));
+                entries.add(new Entry(append.quote(), segment, channel.position()));
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("Could not write {} quotes to the ingest log", group.size(), e);
+            discardFrom(start);
+            group.forEach(append -> append.durable().completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            onDurable.accept(entries.get(i));
+            group.get(i).durable().complete(entries.get(i));
+        }
+    }
+
+    // Cuts off what a failed group left in the segment, so no later record sits behind a torn one where recovery
+    // would never reach it; a segment that cannot be cut is abandoned for a new one
+    private void discardFrom(long start) {
+        if (start >= 0) {
+            try {
+                channel.truncate(start);
+                channel.force(false);
+                return;
+            } catch (IOException e) {
+                log.error("Could not cut ingest log segment {} back to {}", segment, start, e);
+            }
+        }
+        try {
+            channel.close();
+            channel = open(++segment);
+        } catch (IOException e) {
+            log.error("Could not open ingest log segment {}", segment, e);
+        }
+    }
+
+    private static byte[] encode(DailyQuote quote) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            writeUuid(out, quote.getId());
+            writeUuid(out, quote.getUserId());
+            out.writeUTF(quote.getQuoteImage());
+            byte[] record = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(record, HEADER_BYTES, record.length - HEADER_BYTES);
+            ByteBuffer.wrap(record).putInt(record.length - HEADER_BYTES).putInt((int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readSegment(long number, long fromOffset, List<Entry> into) throws IOException {
+        byte[] content = Files.readAllBytes(segmentPath(number));
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        buffer.position((int) Math.min(fromOffset, content.length));
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                log.warn("Ignoring torn record at {} in ingest log segment {}", start, number);
+                return;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(content, buffer.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Ignoring corrupt record at {} in ingest log segment {}", start, number);
+                return;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(content, buffer.position(), length));
+            DailyQuote quote = DailyQuote.builder()
+                    .id(readUuid(in))
+                    .userId(readUuid(in))
+                    .quoteImage(in.readUTF())
+                    .version(0L)
+                    .build();
+            buffer.position(buffer.position() + length);
+            into.add(new Entry(quote, number, buffer.position()));
+        }
+    }
+
+    private long[] readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT);
+        if (!Files.exists(path)) {
+            return new long[]{0, 0};
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return new long[]{in.readLong(), in.readLong()};
+        } catch (EOFException e) {
+            throw new IOException("Ingest log checkpoint is truncated: " + path, e);
+        }
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return segmentOpener.open(segmentPath(number));
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%020d%s", number, SEGMENT_SUFFIX));
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+}
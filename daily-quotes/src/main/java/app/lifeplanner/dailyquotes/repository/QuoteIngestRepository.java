@@ -0,0 +1,59 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Types;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Inserts quotes whose ids were assigned before they reached the database (write-behind ingestion).
+// Plain JDBC on both backends: JPA would treat an entity with an id as detached and try to merge it.
+// Rows that already exist are skipped, so replaying the ingest log after a crash is harmless.
+@Repository
+public class QuoteIngestRepository {
+
+    private static final String SELECT_EXISTING = "SELECT id FROM daily_quote WHERE id IN (:ids)";
+    private static final String INSERT = "INSERT INTO daily_quote (id, quote_image, user_id, version) VALUES (:id, :quoteImage, :userId, :version)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public QuoteIngestRepository(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    // Returns the quotes that were actually inserted
+    @Transactional
+    public List<DailyQuote> insertAbsent(List<DailyQuote> dailyQuotes) {
+        if (dailyQuotes.isEmpty()) {
+            return List.of();
+        }
+        List<byte[]> ids = dailyQuotes.stream().map(quote -> JdbcUuids.toBytes(quote.getId())).toList();
+        Set<UUID> existing = new HashSet<>(jdbcTemplate.query(SELECT_EXISTING, new MapSqlParameterSource("ids", ids),
+                (rs, rowNum) -> JdbcUuids.fromBytes(rs.getBytes("id"))));
+        List<DailyQuote> absent = dailyQuotes.stream()
+                .filter(quote -> !existing.contains(quote.getId()))
+                .toList();
+        if (!absent.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, absent.stream().map(QuoteIngestRepository::row).toArray(SqlParameterSource[]::new));
+        }
+        return absent;
+    }
+
+    private static SqlParameterSource row(DailyQuote dailyQuote) {
+        return new MapSqlParameterSource()
+                .addValue("id", JdbcUuids.toBytes(dailyQuote.getId()), Types.BINARY)
+                .addValue("quoteImage", dailyQuote.getQuoteImage())
+                .addValue("userId", JdbcUuids.toBytes(dailyQuote.getUserId()), Types.BINARY)
+                .addValue("version", 0L, Types.BIGINT);
+    }
+}
@@ -0,0 +1,8 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import java.util.UUID;
+
+// Projection that reads only the owner of a quote
+public interface QuoteOwner {
+    UUID getUserId();
+}
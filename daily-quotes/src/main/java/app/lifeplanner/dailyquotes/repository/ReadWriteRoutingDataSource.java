@@ -0,0 +1,93 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Sends read-only transactions to the replica pool and everything else (read-write transactions, autocommit
+// statements, schema migrations) to the primary. The physical connection is fetched lazily at the first
+// statement, because JPA opens it before the transaction's read-only flag is published.
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        Router router = new Router(meterRegistry);
+        router.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    // Runs read on the primary even inside a read-only transaction (read-your-writes after a recent write)
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (Boolean.TRUE.equals(PRIMARY_REQUIRED.get())) {
+            return read.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource pool : new DataSource[]{primary, replica}) {
+            if (pool instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static class Router extends AbstractRoutingDataSource {
+
+        private final Counter readWrite;
+        private final Counter readOnly;
+        private final Counter readYourWrites;
+
+        Router(MeterRegistry meterRegistry) {
+            this.readWrite = routed(meterRegistry, Target.PRIMARY, "read_write");
+            this.readOnly = routed(meterRegistry, Target.REPLICA, "read_only");
+            this.readYourWrites = routed(meterRegistry, Target.PRIMARY, "read_your_writes");
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                readWrite.increment();
+                return Target.PRIMARY;
+            }
+            if (Boolean.TRUE.equals(PRIMARY_REQUIRED.get())) {
+                readYourWrites.increment();
+                return Target.PRIMARY;
+            }
+            readOnly.increment();
+            return Target.REPLICA;
+        }
+
+        private static Counter routed(MeterRegistry meterRegistry, Target target, String reason) {
+            return Counter.builder("daily_quotes.datasource.routed")
+                    .description("Physical connections handed out, by target pool and routing reason")
+                    .tags("target", target.name().toLowerCase(), "reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
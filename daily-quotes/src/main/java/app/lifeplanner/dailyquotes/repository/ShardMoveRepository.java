@@ -0,0 +1,157 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+// Copies quotes between shards, for the rebalancer and for quotes handed to an owner on another shard. Copies
+// keep the id and version they are given, so ETags stay valid after a rebalance. Every call runs on whichever
+// shard the caller routed to.
+@Repository
+public class ShardMoveRepository {
+
+    private static final String SELECT_COLUMNS = "SELECT id, quote_image, user_id, version FROM daily_quote";
+    private static final String SELECT_FIRST_PAGE = SELECT_COLUMNS + " ORDER BY id LIMIT :limit";
+    private static final String SELECT_PAGE_AFTER = SELECT_COLUMNS + " WHERE id > :afterId ORDER BY id LIMIT :limit";
+    private static final String SELECT_BY_IDS = SELECT_COLUMNS + " WHERE id IN (:ids)";
+    private static final String SELECT_VERSIONS = "SELECT id, version FROM daily_quote WHERE id IN (:ids)";
+    private static final String INSERT = "INSERT INTO daily_quote (id, quote_image, user_id, version) VALUES (:id, :quoteImage, :userId, :version)";
+    private static final String UPDATE = "UPDATE daily_quote SET quote_image = :quoteImage, user_id = :userId, version = :version WHERE id = :id";
+    private static final String DELETE = "DELETE FROM daily_quote WHERE id IN (:ids)";
+    private static final String DELETE_IF_VERSION = "DELETE FROM daily_quote WHERE id = :id AND version = :version";
+    private static final String INSERT_HANDOVER = "INSERT INTO quote_handover (id, to_user_id, recorded_at) VALUES (:id, :toUserId, :recordedAt)";
+    private static final String SELECT_HANDOVERS_BEFORE = "SELECT id, to_user_id FROM quote_handover WHERE recorded_at < :cutoff";
+    private static final String DELETE_HANDOVERS = "DELETE FROM quote_handover WHERE id IN (:ids)";
+
+    private static final RowMapper<DailyQuote> ROW_MAPPER = (rs, rowNum) -> DailyQuote.builder()
+            .id(JdbcUuids.fromBytes(rs.getBytes("id")))
+            .quoteImage(rs.getString("quote_image"))
+            .userId(JdbcUuids.fromBytes(rs.getBytes("user_id")))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ShardMoveRepository(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    // One keyset page of all quotes ordered by id, starting after afterId (null for the first page)
+    public List<DailyQuote> findPageAfter(UUID afterId, int limit) {
+        if (afterId == null) {
+            return jdbcTemplate.query(SELECT_FIRST_PAGE, new MapSqlParameterSource("limit", limit), ROW_MAPPER);
+        }
+        return jdbcTemplate.query(SELECT_PAGE_AFTER, new MapSqlParameterSource()
+                .addValue("afterId", JdbcUuids.toBytes(afterId), Types.BINARY)
+                .addValue("limit", limit), ROW_MAPPER);
+    }
+
+    public Map<UUID, DailyQuote> findByIds(Collection<UUID> ids) {
+        Map<UUID, DailyQuote> quotes = new HashMap<>();
+        if (!ids.isEmpty()) {
+            jdbcTemplate.query(SELECT_BY_IDS, new MapSqlParameterSource("ids", ids.stream().map(JdbcUuids::toBytes).toList()), ROW_MAPPER)
+                    .forEach(quote -> quotes.put(quote.getId(), quote));
+        }
+        return quotes;
+    }
+
+    public Map<UUID, Long> findVersions(Collection<UUID> ids) {
+        Map<UUID, Long> versions = new HashMap<>();
+        if (!ids.isEmpty()) {
+            jdbcTemplate.query(SELECT_VERSIONS, new MapSqlParameterSource("ids", ids.stream().map(JdbcUuids::toBytes).toList()),
+                    (ResultSet rs) -> {
+                        versions.put(JdbcUuids.fromBytes(rs.getBytes("id")), rs.getLong("version"));
+                    });
+        }
+        return versions;
+    }
+
+    // Makes the stored copies match the given quotes: missing ones are inserted, ones with another version
+    // overwritten. Returns the number of rows written.
+    @Transactional
+    public int upsert(List<DailyQuote> dailyQuotes) {
+        Map<UUID, Long> stored = findVersions(dailyQuotes.stream().map(DailyQuote::getId).toList());
+        List<DailyQuote> absent = dailyQuotes.stream().filter(quote -> !stored.containsKey(quote.getId())).toList();
+        List<DailyQuote> changed = dailyQuotes.stream()
+                .filter(quote -> stored.containsKey(quote.getId()) && !Objects.equals(stored.get(quote.getId()), quote.getVersion()))
+                .toList();
+        if (!absent.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, absent.stream().map(ShardMoveRepository::row).toArray(SqlParameterSource[]::new));
+        }
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE, changed.stream().map(ShardMoveRepository::row).toArray(SqlParameterSource[]::new));
+        }
+        return absent.size() + changed.size();
+    }
+
+    public int deleteByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(DELETE, new MapSqlParameterSource("ids", ids.stream().map(JdbcUuids::toBytes).toList()));
+    }
+
+    // Records that the quotes are being handed to toUserId on another shard, until completeHandovers or
+    // forgetHandovers drops the record
+    public void recordHandovers(Collection<UUID> ids, UUID toUserId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_HANDOVER, ids.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("id", JdbcUuids.toBytes(id), Types.BINARY)
+                        .addValue("toUserId", JdbcUuids.toBytes(toUserId), Types.BINARY)
+                        .addValue("recordedAt", now, Types.TIMESTAMP))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    // Deletes the handed-over originals still stored with the given version, together with their records; returns
+    // the ids of those that changed meanwhile and were kept (their records stay until their copies are removed)
+    @Transactional
+    public Set<UUID> completeHandovers(List<DailyQuote> originals) {
+        jdbcTemplate.batchUpdate(DELETE_IF_VERSION, originals.stream().map(ShardMoveRepository::row).toArray(SqlParameterSource[]::new));
+        Set<UUID> changed = findVersions(originals.stream().map(DailyQuote::getId).toList()).keySet();
+        forgetHandovers(originals.stream().map(DailyQuote::getId).filter(id -> !changed.contains(id)).toList());
+        return changed;
+    }
+
+    public List<Handover> findHandoversBefore(Instant cutoff) {
+        return jdbcTemplate.query(SELECT_HANDOVERS_BEFORE, new MapSqlParameterSource().addValue("cutoff", Timestamp.from(cutoff), Types.TIMESTAMP),
+                (rs, rowNum) -> new Handover(JdbcUuids.fromBytes(rs.getBytes("id")), JdbcUuids.fromBytes(rs.getBytes("to_user_id"))));
+    }
+
+    public int forgetHandovers(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(DELETE_HANDOVERS, new MapSqlParameterSource("ids", ids.stream().map(JdbcUuids::toBytes).toList()));
+    }
+
+    private static SqlParameterSource row(DailyQuote dailyQuote) {
+        return new MapSqlParameterSource()
+                .addValue("id", JdbcUuids.toBytes(dailyQuote.getId()), Types.BINARY)
+                .addValue("quoteImage", dailyQuote.getQuoteImage())
+                .addValue("userId", JdbcUuids.toBytes(dailyQuote.getUserId()), Types.BINARY)
+                .addValue("version", dailyQuote.getVersion(), Types.BIGINT);
+    }
+
+    public record Handover(UUID quoteId, UUID toUserId) {
+    }
+}
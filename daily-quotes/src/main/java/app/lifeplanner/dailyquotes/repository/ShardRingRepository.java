@@ -0,0 +1,44 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+// The shard ring in use, kept as one comma-separated row of shard_ring so that it outlives a restart. Every call
+// runs on whichever shard the caller routed to; the rebalancer keeps the ring on the first configured shard.
+@Repository
+public class ShardRingRepository {
+
+    private static final String SELECT = "SELECT shards FROM shard_ring WHERE id = 1";
+    private static final String UPDATE = "UPDATE shard_ring SET shards = :shards WHERE id = 1";
+    private static final String INSERT = "INSERT INTO shard_ring (id, shards) VALUES (1, :shards)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ShardRingRepository(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    // The stored ring's shards, empty until a rebalance has stored one
+    public Optional<List<String>> find() {
+        return jdbcTemplate.queryForList(SELECT, new MapSqlParameterSource(), String.class).stream()
+                .findFirst()
+                .map(shards -> Arrays.asList(shards.split(",")));
+    }
+
+    @Transactional
+    public void save(List<String> shards) {
+        MapSqlParameterSource params = new MapSqlParameterSource("shards", String.join(",", shards));
+        if (jdbcTemplate.update(UPDATE, params) == 0) {
+            jdbcTemplate.update(INSERT, params);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// Sends each connection to the shard the calling thread picked with on(). Like ReadWriteRoutingDataSource the
+// physical connection is fetched lazily at the first statement, so a JPA transaction opened before the shard
+// is picked still lands on the right pool. Unrouted work (schema validation, health checks) uses the first shard.
+public class ShardRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final ThreadLocal<String> CURRENT_SHARD = new ThreadLocal<>();
+
+    private final Map<String, DataSource> shards;
+
+    public ShardRoutingDataSource(Map<String, DataSource> shards, MeterRegistry meterRegistry) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = new LinkedHashMap<>(shards);
+        Router router = new Router(this.shards.keySet(), meterRegistry);
+        router.setTargetDataSources(new HashMap<>(this.shards));
+        router.setDefaultTargetDataSource(this.shards.values().iterator().next());
+        // An unknown shard name is a bug, not a reason to write to the first shard
+        router.setLenientFallback(false);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    public Set<String> getShardNames() {
+        return shards.keySet();
+    }
+
+    // Runs work with every connection it opens going to the given shard (null: the first shard)
+    public static <T> T on(String shard, Supplier<T> work) {
+        String previous = CURRENT_SHARD.get();
+        if (Objects.equals(previous, shard)) {
+            return work.get();
+        }
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource pool : shards.values()) {
+            if (pool instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static class Router extends AbstractRoutingDataSource {
+
+        private final Map<String, Counter> routed = new HashMap<>();
+        private final Counter unrouted;
+
+        Router(Set<String> shardNames, MeterRegistry meterRegistry) {
+            for (String shard : shardNames) {
+                routed.put(shard, Counter.builder("daily_quotes.shard.connections")
+                        .description("Physical connections handed out, by shard")
+                        .tag("shard", shard)
+                        .register(meterRegistry));
+            }
+            this.unrouted = routed.get(shardNames.iterator().next());
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            String shard = CURRENT_SHARD.get();
+            routed.getOrDefault(shard, unrouted).increment();
+            return shard;
+        }
+    }
+}
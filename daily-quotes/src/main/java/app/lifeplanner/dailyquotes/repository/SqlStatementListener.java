@@ -0,0 +1,43 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Feeds every JDBC execution on the proxied DataSource into the current request's SqlStatementStats
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = SqlStatementListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats == null) {
+            return;
+        }
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsedNanos = start == null ? 0 : System.nanoTime() - start;
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        stats.record(sql, parameters(queryInfoList), elapsedNanos, execInfo.isBatch());
+    }
+
+    private static String parameters(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+                .map(operations -> operations.stream()
+                        .map(ParameterSetOperation::getArgs)
+                        .map(Arrays::deepToString)
+                        .collect(Collectors.joining(",")))
+                .collect(Collectors.joining(";"));
+    }
+}
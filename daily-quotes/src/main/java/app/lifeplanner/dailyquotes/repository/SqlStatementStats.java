@@ -0,0 +1,75 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// JDBC statements executed on the current thread between begin() and end(), i.e. during one HTTP request.
+// A statement is one round trip to the database: a JDBC batch counts once however many rows it carries.
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+    // SQL text -> executions, and SQL text + bound parameters -> executions
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private final Map<String, Integer> executionsByStatement = new HashMap<>();
+
+    private SqlStatementStats() {
+    }
+
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    // Null outside a request (startup, scheduled jobs, async work): those statements are not attributed
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql, String parameters, long elapsedNanos, boolean batch) {
+        statements++;
+        nanos += elapsedNanos;
+        if (!batch) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+            executionsByStatement.merge(sql + " " + parameters, 1, Integer::sum);
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public Duration time() {
+        return Duration.ofNanos(nanos);
+    }
+
+    // Identical statements (same SQL, same parameters) executed more than once: the result could have been reused
+    public List<String> redundantStatements() {
+        return repeated(executionsByStatement, 2);
+    }
+
+    // The same SQL run with different parameters at least threshold times: the usual shape of an N+1 query
+    public List<String> repeatedQueries(int threshold) {
+        return repeated(executionsBySql, threshold);
+    }
+
+    private static List<String> repeated(Map<String, Integer> executions, int threshold) {
+        List<String> repeated = new ArrayList<>();
+        executions.forEach((statement, count) -> {
+            if (count >= threshold) {
+                repeated.add(count + "x " + statement);
+            }
+        });
+        return repeated;
+    }
+}
@@ -0,0 +1,133 @@
+package app.lifeplanner.dailyquotes.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Concurrency limit that adapts like TCP congestion control (additive increase, multiplicative decrease).
+// A call that finishes under the latency threshold while at least half the limit was in use raises the
+// limit by one; a slow or overloaded call cuts it by 10%, at most once per congestion window: only a call that
+// started after the last cut can cut again, so a burst of slow calls in flight together counts as one signal.
+// Calls over the limit, or over one user's share of it, are refused instead of queueing. Admission is a CAS on the in-flight count, so it never blocks.
+public class AimdLimiter {
+
+    private static final int MIN_LIMIT = 1;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double userShare;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongSupplier nanoTime;
+    private final AtomicLong lastDecrease;
+    private final ConcurrentMap<Object, Integer> inFlightByUser = new ConcurrentHashMap<>();
+    private final Counter rejectedByLimit;
+    private final Counter rejectedByUserShare;
+
+    // userShare is the fraction of the limit one user may hold at once (at least one call); 1 or more disables it
+    public AimdLimiter(String name, int initialLimit, int maxLimit, Duration latencyThreshold, double userShare,
+                       MeterRegistry meterRegistry) {
+        this(name, initialLimit, maxLimit, latencyThreshold, userShare, meterRegistry, System::nanoTime);
+    }
+
+    AimdLimiter(String name, int initialLimit, int maxLimit, Duration latencyThreshold, double userShare,
+                MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.name = name;
+        this.nanoTime = nanoTime;
+        this.lastDecrease = new AtomicLong(nanoTime.getAsLong());
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.userShare = userShare;
+        this.limit = new AtomicInteger(Math.max(MIN_LIMIT, Math.min(initialLimit, maxLimit)));
+        this.rejectedByLimit = rejected(name, "limit", meterRegistry);
+        this.rejectedByUserShare = rejected(name, "user_share", meterRegistry);
+        Gauge.builder("daily_quotes.limiter.limit", limit, AtomicInteger::get)
+                .description("Current concurrency limit")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("daily_quotes.limiter.in_flight", inFlight, AtomicInteger::get)
+                .description("Calls currently holding a permit")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    // Returns false when the call must be shed; every true must be paired with release. userKey may be null.
+    public boolean tryAcquire(Object userKey) {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.get()) {
+                rejectedByLimit.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        if (userKey != null && userShare < 1 && !tryAcquireUserShare(userKey)) {
+            inFlight.decrementAndGet();
+            rejectedByUserShare.increment();
+            return false;
+        }
+        return true;
+    }
+
+    // overloaded marks a call that failed for lack of capacity (e.g. no database connection in time)
+    public void release(Object userKey, long latencyNanos, boolean overloaded) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (userKey != null && userShare < 1) {
+            inFlightByUser.computeIfPresent(userKey, (key, held) -> held == 1 ? null : held - 1);
+        }
+        if (overloaded || latencyNanos > latencyThresholdNanos) {
+            backOff(latencyNanos);
+        } else if (inFlightBefore * 2 >= limit.get()) {
+            // Only grow while the limit is actually being used, otherwise idle periods would inflate it
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    // Calls already in flight at the last cut ran under the old limit; their slowness was already answered
+    private void backOff(long latencyNanos) {
+        long now = nanoTime.getAsLong();
+        long last = lastDecrease.get();
+        if (now - latencyNanos - last >= 0 && lastDecrease.compareAndSet(last, now)) {
+            limit.updateAndGet(current -> Math.max(MIN_LIMIT, (int) (current * BACKOFF_RATIO)));
+        }
+    }
+
+    private boolean tryAcquireUserShare(Object userKey) {
+        int share = Math.max(1, (int) Math.ceil(limit.get() * userShare));
+        boolean[] admitted = new boolean[1];
+        inFlightByUser.compute(userKey, (key, held) -> {
+            int current = held == null ? 0 : held;
+            if (current >= share) {
+                return held;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        return admitted[0];
+    }
+
+    private static Counter rejected(String name, String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("daily_quotes.limiter.rejected")
+                .description("Calls shed because the limit or the caller's share of it was used up")
+                .tags("name", name, "reason", reason)
+                .register(meterRegistry);
+    }
+}
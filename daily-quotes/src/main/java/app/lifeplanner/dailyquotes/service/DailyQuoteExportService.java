@@ -0,0 +1,37 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteExportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Service
+public class DailyQuoteExportService {
+    private final DailyQuoteExportRepository dailyQuoteExportRepository;
+    private final QuoteShards quoteShards;
+
+    @Autowired
+    public DailyQuoteExportService(DailyQuoteExportRepository dailyQuoteExportRepository, QuoteShards quoteShards) {
+        this.dailyQuoteExportRepository = dailyQuoteExportRepository;
+        this.quoteShards = quoteShards;
+    }
+
+    // Push every quote (or only the given user's quotes when userId is set) to the sink, one row at a time;
+    // a full export reads the shards one after another
+    public void exportQuotes(UUID userId, Consumer<DailyQuote> sink) {
+        if (userId == null) {
+            quoteShards.forEachShard(shard -> quoteShards.onShard(shard, () -> {
+                dailyQuoteExportRepository.streamAll(sink);
+                return null;
+            }));
+        } else {
+            quoteShards.readForUser(userId, () -> {
+                dailyQuoteExportRepository.streamByUserId(userId, sink);
+                return null;
+            });
+        }
+    }
+}
@@ -1,52 +1,536 @@
 package app.lifeplanner.dailyquotes.service;
 
+import app.lifeplanner.dailyquotes.config.CacheConfig;
+import app.lifeplanner.dailyquotes.event.DailyQuotesChangedEvent;
 import app.lifeplanner.dailyquotes.exception.EntityNotFoundException;
+import app.lifeplanner.dailyquotes.exception.PreconditionFailedException;
 import app.lifeplanner.dailyquotes.model.DailyQuote;
-import app.lifeplanner.dailyquotes.repository.DailyQuoteRepository;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.model.ShardSlots;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteStore;
+import app.lifeplanner.dailyquotes.repository.QuoteBulkRepository;
+import app.lifeplanner.dailyquotes.repository.QuoteIngestRepository;
+import app.lifeplanner.dailyquotes.repository.QuoteOwner;
+import app.lifeplanner.dailyquotes.repository.ShardMoveRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
 
 @Service
 public class DailyQuoteService {
-    private final DailyQuoteRepository dailyQuoteRepository;
+    // Ids per IN query when looking up many quotes at once
+    static final int LOOKUP_CHUNK_SIZE = 500;
+    // Expected version for If-Match: *, which any stored version satisfies but a missing quote fails
+    public static final long ANY_VERSION = -2L;
+    private static final int GENERATION_STRIPES = 1024;
 
+    private final DailyQuoteStore dailyQuoteStore;
+    private final QuoteIngestRepository quoteIngestRepository;
+    private final QuoteBulkRepository quoteBulkRepository;
+    private final ShardMoveRepository shardMoveRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QuoteLoadShedder loadShedder;
+    private final RecentWrites recentWrites;
+    private final QuoteShards quoteShards;
+    private final TransactionTemplate transactionTemplate;
+    private final SingleFlight<UUID, List<DailyQuoteView>> userQuotesLoads;
+    // Bumped by every write to a user's quotes, striped by user id (a shared stripe only skips a cache put)
+    private final AtomicLongArray userWriteGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    // Store calls run inside a read or write permit from the load shedder, routed to the shard holding the data
     @Autowired
-    public DailyQuoteService(DailyQuoteRepository dailyQuoteRepository) {
-        this.dailyQuoteRepository = dailyQuoteRepository;
+    public DailyQuoteService(DailyQuoteStore dailyQuoteStore,
+                             QuoteIngestRepository quoteIngestRepository,
+                             QuoteBulkRepository quoteBulkRepository,
+                             ShardMoveRepository shardMoveRepository,
+                             CacheManager cacheManager,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             QuoteLoadShedder loadShedder,
+                             RecentWrites recentWrites,
+                             QuoteShards quoteShards,
+                             PlatformTransactionManager transactionManager) {
+        this.dailyQuoteStore = dailyQuoteStore;
+        this.quoteIngestRepository = quoteIngestRepository;
+        this.quoteBulkRepository = quoteBulkRepository;
+        this.shardMoveRepository = shardMoveRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.loadShedder = loadShedder;
+        this.recentWrites = recentWrites;
+        this.quoteShards = quoteShards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userQuotesLoads = new SingleFlight<>(CacheConfig.QUOTES_BY_USER, meterRegistry);
     }
 
     // Save a new quote (make sure to set userId when saving)
     public DailyQuote addDailyQuote(DailyQuote dailyQuote) {
-        return dailyQuoteRepository.save(dailyQuote);
+        DailyQuote saved = loadShedder.write(dailyQuote.getUserId(),
+                () -> quoteShards.writeForUser(dailyQuote.getUserId(), () -> dailyQuoteStore.save(dailyQuote)));
+        recentWrites.record(saved.getId());
+        userQuotesChanged(saved.getUserId());
+        return saved;
+    }
+
+    // Save many quotes in one transaction per shard (one in total without sharding); inserts are grouped into
+    // JDBC batches (hibernate.jdbc.batch_size). The transaction is opened inside the write permit, so a shed batch
+    // never holds a connection. The saved quotes come back in request order.
+    public List<DailyQuote> addDailyQuotes(List<DailyQuote> dailyQuotes) {
+        List<List<DailyQuote>> groups = quoteShards.partition(dailyQuotes, DailyQuoteService::ownerSlot);
+        List<DailyQuote> saved = groups.size() == 1 ? saveGroup(groups.get(0)) : saveGroups(dailyQuotes, groups);
+        saved.forEach(quote -> recentWrites.record(quote.getId()));
+        saved.stream()
+                .map(DailyQuote::getUserId)
+                .distinct()
+                .forEach(this::userQuotesChanged);
+        return saved;
     }
 
-    // Retrieve quotes for a specific user
-    public List<DailyQuote> getQuotesByUserId(UUID userId) {
-        return dailyQuoteRepository.findByUserId(userId);
+    private List<DailyQuote> saveGroup(List<DailyQuote> group) {
+        return loadShedder.write(singleUserOf(group), () -> quoteShards.writeGroup(group, DailyQuoteService::ownerSlot,
+                () -> transactionTemplate.execute(status -> dailyQuoteStore.saveAll(group))));
+    }
+
+    // saveAll returns one saved quote per quote given, in the same order
+    private List<DailyQuote> saveGroups(List<DailyQuote> dailyQuotes, List<List<DailyQuote>> groups) {
+        Map<DailyQuote, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < dailyQuotes.size(); i++) {
+            positions.put(dailyQuotes.get(i), i);
+        }
+        DailyQuote[] saved = new DailyQuote[dailyQuotes.size()];
+        for (List<DailyQuote> group : groups) {
+            List<DailyQuote> savedGroup = saveGroup(group);
+            for (int i = 0; i < group.size(); i++) {
+                saved[positions.get(group.get(i))] = savedGroup.get(i);
+            }
+        }
+        return Arrays.asList(saved);
     }
 
-    // Retrieve a quote by ID
-    public Optional<DailyQuote> getQuoteById(UUID id) {
-        return dailyQuoteRepository.findById(id);
+    // Store quotes accepted earlier by write-behind ingestion (ids already assigned, version 0).
+    // Ids that are already in the database are skipped, so a batch can safely be stored twice.
+    public List<DailyQuote> addAcceptedDailyQuotes(List<DailyQuote> dailyQuotes) {
+        List<DailyQuote> inserted = new ArrayList<>();
+        for (List<DailyQuote> group : quoteShards.partition(dailyQuotes, quote -> ShardSlots.ofQuote(quote.getId()))) {
+            inserted.addAll(loadShedder.write(singleUserOf(group), () -> quoteShards.writeGroup(group,
+                    quote -> ShardSlots.ofQuote(quote.getId()), () -> quoteIngestRepository.insertAbsent(group))));
+        }
+        inserted.forEach(quote -> recentWrites.record(quote.getId()));
+        inserted.stream()
+                .map(DailyQuote::getUserId)
+                .distinct()
+                .forEach(this::userQuotesChanged);
+        return inserted;
     }
 
-    // Update an existing quote
-    public DailyQuote updateDailyQuote(DailyQuote dailyQuote) {
-        if (!dailyQuoteRepository.existsById(dailyQuote.getId())) {
-            throw new EntityNotFoundException("Quote not found with ID: " + dailyQuote.getId());
+    // Retrieve quotes for a specific user as read-only views (the cache holds the views, not entities).
+    // Concurrent misses for the same user (a dashboard's widgets loading together) share one query. A loaded
+    // list is cached only if no write touched the user's quotes while it loaded, so a load that read the rows
+    // from before a write cannot be cached after that write's evict.
+    @SuppressWarnings("unchecked")
+    public List<DailyQuoteView> getQuotesByUserId(UUID userId) {
+        Cache cache = cacheManager.getCache(CacheConfig.QUOTES_BY_USER);
+        Cache.ValueWrapper cached = cache != null ? cache.get(userId) : null;
+        if (cached != null) {
+            return (List<DailyQuoteView>) cached.get();
         }
-        return dailyQuoteRepository.save(dailyQuote);
+        return userQuotesLoads.execute(userId, () -> {
+            long generation = userWriteGenerations.get(generationStripe(userId));
+            List<DailyQuoteView> views = loadShedder.read(userId, () -> quoteShards.readForUser(userId,
+                    () -> recentWrites.read(userId, () -> dailyQuoteStore.findViewsByUserId(userId))));
+            if (cache != null && userWriteGenerations.get(generationStripe(userId)) == generation) {
+                cache.put(userId, views);
+                // A write that bumped the generation after the check may have evicted before the put
+                if (userWriteGenerations.get(generationStripe(userId)) != generation) {
+                    cache.evict(userId);
+                }
+            }
+            return views;
+        });
+    }
+
+    // Retrieve one keyset page of a user's quotes ordered by id, starting after afterId (null for the first page)
+    public List<DailyQuoteView> getQuotesPageByUserId(UUID userId, UUID afterId, int limit) {
+        return loadShedder.read(userId, () -> quoteShards.readForUser(userId, () -> recentWrites.read(userId, () -> afterId == null
+                ? dailyQuoteStore.findViewsByUserIdOrderByIdAsc(userId, Limit.of(limit))
+                : dailyQuoteStore.findViewsByUserIdAndIdGreaterThanOrderByIdAsc(userId, afterId, Limit.of(limit)))));
+    }
+
+    // Retrieve a quote by ID (misses are not cached, so a quote created later is visible immediately)
+    @Cacheable(cacheNames = CacheConfig.QUOTES_BY_ID, key = "#id", unless = "#result == null")
+    public Optional<DailyQuoteView> getQuoteById(UUID id) {
+        return loadShedder.read(null, () -> quoteShards.readForQuote(id,
+                () -> recentWrites.read(id, () -> dailyQuoteStore.findViewById(id)), Optional::isPresent));
     }
 
-    // Delete a quote by ID
-    public void deleteDailyQuote(UUID id) {
-        if (!dailyQuoteRepository.existsById(id)) {
+    // Retrieve many quotes by id: cached ones from quotesById, the rest with chunked IN queries on each shard
+    // (found quotes are cached like single reads). With sharding, ids not found where they point (the quote moved
+    // with a new owner) and ids that carry no shard slot are looked for on every shard. Ids without a quote are
+    // absent from the returned map.
+    public Map<UUID, DailyQuoteView> getQuotesByIds(Collection<UUID> ids) {
+        Map<UUID, DailyQuoteView> found = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        List<UUID> unrouted = new ArrayList<>();
+        Cache cache = cacheManager.getCache(CacheConfig.QUOTES_BY_ID);
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            DailyQuoteView cached = cache != null ? cache.get(id, DailyQuoteView.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else if (quoteShards.knowsShardOf(id)) {
+                misses.add(id);
+            } else {
+                unrouted.add(id);
+            }
+        }
+        for (List<UUID> shardMisses : quoteShards.partition(misses, ShardSlots::ofQuote)) {
+            for (int from = 0; from < shardMisses.size(); from += LOOKUP_CHUNK_SIZE) {
+                List<UUID> chunk = shardMisses.subList(from, Math.min(shardMisses.size(), from + LOOKUP_CHUNK_SIZE));
+                for (DailyQuoteView view : loadShedder.read(null, () -> quoteShards.readGroup(chunk, ShardSlots::ofQuote,
+                        () -> recentWrites.read(chunk, () -> dailyQuoteStore.findViewsByIdIn(chunk))))) {
+                    found.put(view.id(), view);
+                    if (cache != null) {
+                        cache.putIfAbsent(view.id(), view);
+                    }
+                }
+            }
+        }
+        List<UUID> elsewhere = new ArrayList<>(unrouted);
+        if (quoteShards.isEnabled()) {
+            misses.stream().filter(id -> !found.containsKey(id)).forEach(elsewhere::add);
+        }
+        quoteShards.forEachShard(shard -> {
+            List<UUID> remaining = elsewhere.stream().filter(id -> !found.containsKey(id)).toList();
+            for (int from = 0; from < remaining.size(); from += LOOKUP_CHUNK_SIZE) {
+                List<UUID> chunk = remaining.subList(from, Math.min(remaining.size(), from + LOOKUP_CHUNK_SIZE));
+                for (DailyQuoteView view : loadShedder.read(null, () -> quoteShards.onShard(shard,
+                        () -> recentWrites.read(chunk, () -> dailyQuoteStore.findViewsByIdIn(chunk))))) {
+                    found.put(view.id(), view);
+                    if (cache != null) {
+                        cache.putIfAbsent(view.id(), view);
+                    }
+                }
+            }
+        });
+        return found;
+    }
+
+    // Update an existing quote. When the owner stays the same and the version is known (from If-Match, or else
+    // from the cached view) this is a single conditional UPDATE; otherwise the row is read first, so the result
+    // always carries the new version. A non-null expectedVersion (from If-Match) must match the stored version.
+    // The statements changing the row run on its owner's shard, which is not always the one its id points to.
+    public DailyQuote updateDailyQuote(DailyQuote dailyQuote, Long expectedVersion) {
+        return ifMatching(dailyQuote.getId(), expectedVersion, version -> loadShedder.write(dailyQuote.getUserId(),
+                () -> quoteShards.writeForQuote(dailyQuote.getId(), () -> storedOwnerOf(dailyQuote.getId()), () -> update(dailyQuote, version))));
+    }
+
+    private DailyQuote update(DailyQuote dailyQuote, Long expectedVersion) {
+        UUID id = dailyQuote.getId();
+        UUID userId = dailyQuote.getUserId();
+        // A stale cached version only costs the fallback below
+        Long knownVersion = expectedVersion != null ? expectedVersion : cachedVersionOf(id);
+        if (userId != null && knownVersion != null && quoteShards.writeForUser(userId,
+                () -> dailyQuoteStore.updateIfOwnedBy(id, dailyQuote.getQuoteImage(), userId, knownVersion)) == 1) {
+            quoteChanged(id);
+            userQuotesChanged(userId);
+            return withState(dailyQuote, userId, knownVersion + 1);
+        }
+
+        DailyQuote existing = dailyQuoteStore.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Quote not found with ID: " + id));
+        requireVersion(existing, expectedVersion);
+        UUID ownerId = userId != null ? userId : existing.getUserId();
+        if (Objects.equals(existing.getUserId(), ownerId)) {
+            quoteShards.writeForUser(ownerId, () -> requireUpdated(id,
+                    dailyQuoteStore.updateIfVersion(id, dailyQuote.getQuoteImage(), ownerId, existing.getVersion())));
+        } else {
+            quoteShards.writeForHandover(existing.getUserId(), ownerId,
+                    () -> requireUpdated(id, dailyQuoteStore.updateIfVersion(id, dailyQuote.getQuoteImage(), ownerId, existing.getVersion())),
+                    () -> moveQuote(existing, withState(dailyQuote, ownerId, existing.getVersion() + 1)));
+        }
+        quoteChanged(id);
+        userQuotesChanged(existing.getUserId());
+        if (!Objects.equals(existing.getUserId(), ownerId)) {
+            userQuotesChanged(ownerId);
+        }
+        return withState(dailyQuote, ownerId, existing.getVersion() + 1);
+    }
+
+    // Hands a quote to an owner on another shard (see handOver); fails when it changed meanwhile
+    private int moveQuote(DailyQuote existing, DailyQuote moved) {
+        if (!handOver(List.of(existing), List.of(moved), moved.getUserId()).isEmpty()) {
+            throw new PreconditionFailedException("Quote was modified concurrently: " + moved.getId());
+        }
+        return 1;
+    }
+
+    // Delete a quote by ID with a conditional DELETE. The owner (needed to evict their cached list and refresh
+    // their quote of the day) comes from the caches when either holds the quote, making the DELETE the only
+    // statement; otherwise a narrow owner-only lookup runs first, so an uncached delete takes two statements.
+    public void deleteDailyQuote(UUID id, Long expectedVersion) {
+        ifMatching(id, expectedVersion, version -> loadShedder.write(null, () -> quoteShards.writeForQuote(id, () -> storedOwnerOf(id), () -> {
+            delete(id, version);
+            return null;
+        })));
+    }
+
+    // Runs a conditional write with the version it must match; ANY_VERSION runs it unconditionally, and then a
+    // missing quote fails the precondition (412) instead of being not found, as RFC 9110 requires for If-Match: *
+    private <T> T ifMatching(UUID id, Long expectedVersion, Function<Long, T> write) {
+        if (expectedVersion == null || expectedVersion != ANY_VERSION) {
+            return write.apply(expectedVersion);
+        }
+        try {
+            return write.apply(null);
+        } catch (EntityNotFoundException e) {
+            throw new PreconditionFailedException("Quote not found with ID: " + id);
+        }
+    }
+
+    private void delete(UUID id, Long expectedVersion) {
+        UUID ownerId = ownerOf(id);
+        if (quoteShards.writeForUser(ownerId, () -> dailyQuoteStore.deleteIfVersion(id, expectedVersion)) == 0) {
+            if (expectedVersion != null && dailyQuoteStore.existsById(id)) {
+                throw new PreconditionFailedException("Quote version does not match for ID: " + id);
+            }
             throw new EntityNotFoundException("Quote not found with ID: " + id);
         }
-        dailyQuoteRepository.deleteById(id);
+        quoteChanged(id);
+        userQuotesChanged(ownerId);
+    }
+
+    // Delete all of a user's quotes with chunked set-based DELETEs, each its own short transaction and write
+    // permit. A shed or failed chunk leaves the rest in place; repeating the call finishes the job.
+    public long deleteQuotesByUserId(UUID userId) {
+        long deleted = 0;
+        try {
+            int chunk;
+            do {
+                chunk = loadShedder.write(userId, () -> quoteShards.writeForUser(userId,
+                        () -> transactionTemplate.execute(status -> quoteBulkRepository.deleteChunkByUserId(userId))));
+                deleted += chunk;
+            } while (chunk == quoteBulkRepository.getChunkSize());
+        } finally {
+            if (deleted > 0) {
+                evictQuotesOwnedBy(userId);
+                userQuotesChanged(userId);
+            }
+        }
+        return deleted;
+    }
+
+    // Reassign all of fromUserId's quotes to toUserId in chunks like deleteQuotesByUserId; every moved quote
+    // gets a new version. With sharding, when toUserId's quotes live on another shard each chunk is copied there
+    // and then deleted from fromUserId's; a quote changed meanwhile stays behind and ends the call early.
+    public long transferQuotes(UUID fromUserId, UUID toUserId) {
+        if (fromUserId.equals(toUserId)) {
+            return 0;
+        }
+        long moved = 0;
+        try {
+            int chunk;
+            do {
+                chunk = loadShedder.write(fromUserId, () -> quoteShards.writeForHandover(fromUserId, toUserId,
+                        () -> transactionTemplate.execute(status -> quoteBulkRepository.transferChunk(fromUserId, toUserId)),
+                        () -> moveChunk(fromUserId, toUserId)));
+                moved += chunk;
+            } while (chunk == quoteBulkRepository.getChunkSize());
+        } finally {
+            if (moved > 0) {
+                evictQuotesOwnedBy(fromUserId);
+                userQuotesChanged(fromUserId);
+                userQuotesChanged(toUserId);
+            }
+        }
+        return moved;
+    }
+
+    // Hands up to one chunk of fromUserId's quotes to toUserId on another shard (see handOver); returns the number moved
+    private int moveChunk(UUID fromUserId, UUID toUserId) {
+        List<DailyQuote> originals = dailyQuoteStore.findViewsByUserIdOrderByIdAsc(fromUserId, Limit.of(quoteBulkRepository.getChunkSize())).stream()
+                .map(view -> DailyQuote.builder().id(view.id()).quoteImage(view.quoteImage()).userId(view.userId()).version(view.version()).build())
+                .toList();
+        if (originals.isEmpty()) {
+            return 0;
+        }
+        List<DailyQuote> copies = originals.stream()
+                .map(original -> withState(original, toUserId, original.getVersion() + 1))
+                .toList();
+        return originals.size() - handOver(originals, copies, toUserId).size();
+    }
+
+    // Runs on the originals' shard inside writeForHandover: the copies are written on toUserId's shard, then the
+    // originals that did not change meanwhile are deleted and the copies of the rest removed again; returns the
+    // ids of the originals kept. The move is recorded on this shard until it completes. A crash or a failed
+    // undo in between leaves a quote on both shards (under both owners) until ShardRebalancer's repair, at the
+    // next startup or rebalance, removes the copy.
+    private Set<UUID> handOver(List<DailyQuote> originals, List<DailyQuote> copies, UUID toUserId) {
+        List<UUID> ids = originals.stream().map(DailyQuote::getId).toList();
+        shardMoveRepository.recordHandovers(ids, toUserId);
+        Set<UUID> changed;
+        try {
+            quoteShards.onShardOfUser(toUserId, () -> shardMoveRepository.upsert(copies));
+            changed = shardMoveRepository.completeHandovers(originals);
+        } catch (RuntimeException e) {
+            try {
+                undoHandovers(ids, toUserId);
+            } catch (RuntimeException undoFailure) {
+                e.addSuppressed(undoFailure);
+            }
+            throw e;
+        }
+        if (!changed.isEmpty()) {
+            undoHandovers(changed, toUserId);
+        }
+        return changed;
+    }
+
+    private void undoHandovers(Collection<UUID> ids, UUID toUserId) {
+        quoteShards.onShardOfUser(toUserId, () -> shardMoveRepository.deleteByIds(ids));
+        shardMoveRepository.forgetHandovers(ids);
+    }
+
+    // Drop the user's quotes from quotesById without knowing their ids: scan the in-memory Caffeine map,
+    // or clear the cache when it is some other implementation
+    private void evictQuotesOwnedBy(UUID userId) {
+        Cache cache = cacheManager.getCache(CacheConfig.QUOTES_BY_ID);
+        if (cache == null) {
+            return;
+        }
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            caffeine.asMap().values().removeIf(value -> value instanceof DailyQuoteView view && userId.equals(view.userId()));
+        } else {
+            cache.clear();
+        }
+    }
+
+    private Long cachedVersionOf(UUID id) {
+        Cache cache = cacheManager.getCache(CacheConfig.QUOTES_BY_ID);
+        DailyQuoteView cached = cache != null ? cache.get(id, DailyQuoteView.class) : null;
+        return cached != null ? cached.version() : null;
+    }
+
+    private UUID ownerOf(UUID id) {
+        Cache cache = cacheManager.getCache(CacheConfig.QUOTES_BY_ID);
+        DailyQuoteView cached = cache != null ? cache.get(id, DailyQuoteView.class) : null;
+        if (cached != null) {
+            return cached.userId();
+        }
+        Optional<UUID> listed = ownerFromCachedLists(id);
+        if (listed.isPresent()) {
+            return listed.get();
+        }
+        return storedOwnerOf(id)
+                .orElseThrow(() -> new EntityNotFoundException("Quote not found with ID: " + id));
+    }
+
+    private Optional<UUID> storedOwnerOf(UUID id) {
+        return dailyQuoteStore.findOwnerById(id).map(QuoteOwner::getUserId);
+    }
+
+    // The owner of a quote that sits in some user's cached list, found by scanning the in-memory Caffeine map
+    private Optional<UUID> ownerFromCachedLists(UUID id) {
+        Cache cache = cacheManager.getCache(CacheConfig.QUOTES_BY_USER);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)) {
+            return Optional.empty();
+        }
+        for (Object views : caffeine.asMap().values()) {
+            if (views instanceof List<?> list) {
+                for (Object view : list) {
+                    if (view instanceof DailyQuoteView quote && id.equals(quote.id())) {
+                        return Optional.of(quote.userId());
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static UUID singleUserOf(List<DailyQuote> dailyQuotes) {
+        UUID userId = dailyQuotes.isEmpty() ? null : dailyQuotes.get(0).getUserId();
+        for (DailyQuote dailyQuote : dailyQuotes) {
+            if (!Objects.equals(userId, dailyQuote.getUserId())) {
+                return null;
+            }
+        }
+        return userId;
+    }
+
+    private static int generationStripe(UUID userId) {
+        return userId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private static int ownerSlot(DailyQuote dailyQuote) {
+        return ShardSlots.ofUser(dailyQuote.getUserId());
+    }
+
+    private static void requireVersion(DailyQuote existing, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new PreconditionFailedException("Quote version does not match for ID: " + existing.getId());
+        }
+    }
+
+    private static int requireUpdated(UUID id, int updated) {
+        if (updated == 0) {
+            throw new PreconditionFailedException("Quote was modified concurrently: " + id);
+        }
+        return updated;
+    }
+
+    private static DailyQuote withState(DailyQuote dailyQuote, UUID userId, Long version) {
+        return DailyQuote.builder()
+                .id(dailyQuote.getId())
+                .quoteImage(dailyQuote.getQuoteImage())
+                .userId(userId)
+                .version(version)
+                .build();
+    }
+
+    // A stored quote changed or disappeared: drop its cached view and read it from the primary for a while
+    private void quoteChanged(UUID id) {
+        evict(CacheConfig.QUOTES_BY_ID, id);
+        recentWrites.record(id);
+    }
+
+    // Every write that touches a user's quotes goes through here: keep loads already running from caching
+    // their list, drop the cached list and let listeners (e.g. the quote of the day) react
+    private void userQuotesChanged(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        userWriteGenerations.incrementAndGet(generationStripe(userId));
+        evict(CacheConfig.QUOTES_BY_USER, userId);
+        userQuotesLoads.forget(userId);
+        recentWrites.record(userId);
+        eventPublisher.publishEvent(new DailyQuotesChangedEvent(userId));
+    }
+
+    private void evict(String cacheName, UUID key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
     }
-}
\ No newline at end of file
+}
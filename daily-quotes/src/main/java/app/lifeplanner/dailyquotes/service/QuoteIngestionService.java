@@ -0,0 +1,180 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.exception.ServiceOverloadedException;
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.model.UuidV7Generator;
+import app.lifeplanner.dailyquotes.repository.QuoteIngestLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Write-behind ingestion (daily-quotes.ingestion.mode=write-behind). A new quote gets its id up front and is
+// acknowledged once it is fsynced to the local ingest log; a scheduled drain stores accepted quotes in the
+// database in batches and checkpoints the log behind them. Until then they are served from memory, and
+// after a restart whatever the log holds past the checkpoint is drained again. At most max-pending quotes wait
+// for the drain; beyond that new quotes are answered 503 with Retry-After.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "daily-quotes.ingestion.mode", havingValue = "write-behind")
+public class QuoteIngestionService {
+
+    private final DailyQuoteService dailyQuoteService;
+    private final int batchSize;
+    private final int maxPending;
+    private final Duration retryAfter;
+    private final Map<UUID, DailyQuote> pending = new ConcurrentHashMap<>();
+    private final Queue<QuoteIngestLog.Entry> undrained = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final Counter drained;
+    private final Counter deadLettered;
+    private final QuoteIngestLog ingestLog;
+
+    @Autowired
+    public QuoteIngestionService(DailyQuoteService dailyQuoteService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${daily-quotes.ingestion.log-dir:ingest-log}") Path logDir,
+                                 @Value("${daily-quotes.ingestion.segment-size:64MB}") DataSize segmentSize,
+                                 @Value("${daily-quotes.ingestion.batch-size:500}") int batchSize,
+                                 @Value("${daily-quotes.ingestion.max-pending:100000}") int maxPending,
+                                 @Value("${daily-quotes.limiter.retry-after:1s}") Duration retryAfter) throws IOException {
+        this.dailyQuoteService = dailyQuoteService;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.retryAfter = retryAfter;
+        this.drained = Counter.builder("daily_quotes.ingestion.drained")
+                .description("Accepted quotes stored in the database by the write-behind drain")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("daily_quotes.ingestion.dead_lettered")
+                .description("Accepted quotes the database rejected, moved to the ingest log's dead-letter file")
+                .register(meterRegistry);
+        Gauge.builder("daily_quotes.ingestion.pending", pending, Map::size)
+                .description("Accepted quotes not yet stored in the database")
+                .register(meterRegistry);
+        this.ingestLog = new QuoteIngestLog(logDir, segmentSize.toBytes(), this::durable);
+        List<QuoteIngestLog.Entry> recovered = ingestLog.recover();
+        recovered.forEach(this::durable);
+        if (!recovered.isEmpty()) {
+            log.info("Replaying {} accepted quotes from the ingest log in {}", recovered.size(), logDir);
+        }
+    }
+
+    // Assigns the id and returns once the quote is durable in the log; the database write happens later
+    public DailyQuote accept(DailyQuote dailyQuote) {
+        if (pending.size() >= maxPending) {
+            throw new ServiceOverloadedException("Too many accepted quotes are waiting to be stored", retryAfter);
+        }
+        DailyQuote accepted = DailyQuote.builder()
+                .id(UuidV7Generator.forOwner(dailyQuote.getUserId()))
+                .quoteImage(dailyQuote.getQuoteImage())
+                .userId(dailyQuote.getUserId())
+                .version(0L)
+                .build();
+        try {
+            ingestLog.append(accepted).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not write the quote to the ingest log", e.getCause());
+        }
+        return accepted;
+    }
+
+    // An accepted quote that the drain has not stored yet
+    public Optional<DailyQuoteView> getPendingQuote(UUID id) {
+        return Optional.ofNullable(pending.get(id))
+                .map(q -> new DailyQuoteView(q.getId(), q.getQuoteImage(), q.getUserId(), q.getVersion()));
+    }
+
+    // Stores accepted quotes batch by batch; a batch failing for a transient reason stays queued and is retried
+    // on the next run.
+    // A quote leaves the pending map only after its row is committed, so reads never see a gap.
+    @Scheduled(fixedDelayString = "${daily-quotes.ingestion.drain-interval-ms:100}")
+    public void drain() {
+        drainLock.lock();
+        try {
+            while (drainBatch()) {
+                // keep going while full batches are waiting
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        drain();
+        ingestLog.close();
+    }
+
+    private boolean drainBatch() {
+        List<QuoteIngestLog.Entry> batch = new ArrayList<>(batchSize);
+        Iterator<QuoteIngestLog.Entry> entries = undrained.iterator();
+        while (entries.hasNext() && batch.size() < batchSize) {
+            batch.add(entries.next());
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+        try {
+            store(batch.stream().map(QuoteIngestLog.Entry::quote).toList());
+            ingestLog.checkpoint(batch.get(batch.size() - 1));
+        } catch (ServiceOverloadedException | DataAccessException | IOException e) {
+            log.warn("Could not drain {} accepted quotes, retrying: {}", batch.size(), e.getMessage());
+            return false;
+        }
+        for (QuoteIngestLog.Entry entry : batch) {
+            undrained.poll();
+            pending.remove(entry.quote().getId());
+        }
+        drained.increment(batch.size());
+        return batch.size() == batchSize;
+    }
+
+    // A batch the database rejects is stored quote by quote, so one bad quote cannot hold back the others;
+    // a quote rejected on its own goes to the dead-letter file instead of being retried forever
+    private void store(List<DailyQuote> quotes) throws IOException {
+        try {
+            dailyQuoteService.addAcceptedDailyQuotes(quotes);
+        } catch (DataIntegrityViolationException e) {
+            if (quotes.size() > 1) {
+                for (DailyQuote quote : quotes) {
+                    store(List.of(quote));
+                }
+                return;
+            }
+            log.error("Database rejected accepted quote {}, moving it to the dead-letter file: {}", quotes.get(0).getId(), e.getMessage());
+            ingestLog.deadLetter(quotes.get(0));
+            deadLettered.increment();
+        }
+    }
+
+    // Called in log order as records become durable (and for records recovered at startup)
+    private void durable(QuoteIngestLog.Entry entry) {
+        pending.put(entry.quote().getId(), entry.quote());
+        undrained.add(entry);
+    }
+}
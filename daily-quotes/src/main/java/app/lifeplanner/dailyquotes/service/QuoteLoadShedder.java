@@ -0,0 +1,90 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// Separate adaptive limits for database reads and writes behind DailyQuoteService. When a burst exceeds
+// what the pool can serve, the extra calls fail fast with ServiceOverloadedException (503 + Retry-After)
+// instead of every request thread blocking on a Hikari connection. Cache hits never get here.
+// Unless set, the max limits follow spring.datasource.hikari.maximum-pool-size: reads may use the whole pool and
+// writes, which hold their connection for a transaction, half of it, so the limiter sheds before the pool queues.
+@Slf4j
+@Component
+public class QuoteLoadShedder {
+
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final AimdLimiter reads;
+    private final AimdLimiter writes;
+
+    @Autowired
+    public QuoteLoadShedder(MeterRegistry meterRegistry,
+                            @Value("${daily-quotes.limiter.enabled:true}") boolean enabled,
+                            @Value("${daily-quotes.limiter.reads.initial-limit:10}") int readInitialLimit,
+                            @Value("${daily-quotes.limiter.reads.max-limit:0}") int readMaxLimit,
+                            @Value("${daily-quotes.limiter.writes.initial-limit:5}") int writeInitialLimit,
+                            @Value("${daily-quotes.limiter.writes.max-limit:0}") int writeMaxLimit,
+                            @Value("${daily-quotes.limiter.latency-threshold:250ms}") Duration latencyThreshold,
+                            @Value("${daily-quotes.limiter.user-share:1.0}") double userShare,
+                            @Value("${daily-quotes.limiter.retry-after:1s}") Duration retryAfter,
+                            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.enabled = enabled;
+        this.retryAfter = retryAfter;
+        readMaxLimit = maxLimit("reads", readMaxLimit, poolSize, poolSize);
+        writeMaxLimit = maxLimit("writes", writeMaxLimit, Math.max(1, poolSize / 2), poolSize);
+        this.reads = new AimdLimiter("reads", readInitialLimit, readMaxLimit, latencyThreshold, userShare, meterRegistry);
+        this.writes = new AimdLimiter("writes", writeInitialLimit, writeMaxLimit, latencyThreshold, userShare, meterRegistry);
+    }
+
+    // A limit of 0 (unset) takes the pool-derived default; one above the pool lets callers queue for connections
+    private static int maxLimit(String name, int configured, int derived, int poolSize) {
+        if (configured <= 0) {
+            return derived;
+        }
+        if (configured > poolSize) {
+            log.warn("daily-quotes.limiter.{}.max-limit={} exceeds the connection pool ({}); excess calls will wait for a connection instead of being shed",
+                    name, configured, poolSize);
+        }
+        return configured;
+    }
+
+    // userId, when known, is held to its fair share of the limit
+    public <T> T read(UUID userId, Supplier<T> operation) {
+        return execute(reads, userId, operation);
+    }
+
+    public <T> T write(UUID userId, Supplier<T> operation) {
+        return execute(writes, userId, operation);
+    }
+
+    private <T> T execute(AimdLimiter limiter, UUID userId, Supplier<T> operation) {
+        if (!enabled) {
+            return operation.get();
+        }
+        if (!limiter.tryAcquire(userId)) {
+            throw new ServiceOverloadedException("Too many concurrent " + limiter.getName() + ", retry later", retryAfter);
+        }
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return operation.get();
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException | TransientDataAccessException e) {
+            // No connection in time, or the database timed the statement out
+            overloaded = true;
+            throw e;
+        } finally {
+            limiter.release(userId, System.nanoTime() - start, overloaded);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Deterministic daily pick: a user's quotes (sorted by id) are shuffled once per cycle of n days with a
+// seed derived from the user and the cycle number, and day k of the cycle shows element k.
+// Every quote is shown exactly once per cycle, and every instance computes the same pick.
+public final class QuoteOfTheDayPicker {
+
+    private QuoteOfTheDayPicker() {
+    }
+
+    public static DailyQuote pick(UUID userId, List<DailyQuote> quotes, LocalDate day) {
+        if (quotes.isEmpty()) {
+            return null;
+        }
+        List<DailyQuote> ordered = new ArrayList<>(quotes);
+        ordered.sort(Comparator.comparing(DailyQuote::getId));
+
+        long epochDay = day.toEpochDay();
+        int size = ordered.size();
+        long cycle = Math.floorDiv(epochDay, size);
+        int dayInCycle = (int) Math.floorMod(epochDay, size);
+        return cycleOrder(userId, ordered, cycle).get(dayInCycle);
+    }
+
+    private static List<DailyQuote> cycleOrder(UUID userId, List<DailyQuote> ordered, long cycle) {
+        List<DailyQuote> current = shuffled(userId, ordered, cycle);
+        if (current.size() > 1) {
+            // Don't show the same quote on the last day of one cycle and the first day of the next
+            List<DailyQuote> previous = shuffled(userId, ordered, cycle - 1);
+            if (current.get(0).equals(previous.get(previous.size() - 1))) {
+                Collections.swap(current, 0, 1);
+            }
+        }
+        return current;
+    }
+
+    private static List<DailyQuote> shuffled(UUID userId, List<DailyQuote> ordered, long cycle) {
+        List<DailyQuote> copy = new ArrayList<>(ordered);
+        long seed = userId.getMostSignificantBits()
+                ^ Long.rotateLeft(userId.getLeastSignificantBits(), 17)
+                ^ (cycle * 0x9E3779B97F4A7C15L);
+        Collections.shuffle(copy, new Random(seed));
+        return copy;
+    }
+}
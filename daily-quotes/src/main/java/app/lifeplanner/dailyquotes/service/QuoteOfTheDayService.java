@@ -0,0 +1,137 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.config.SchedulingConfig;
+import app.lifeplanner.dailyquotes.event.DailyQuotesChangedEvent;
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Keeps every user's quote of the day in memory. The whole user base is recomputed in parallel chunks
+// at day rollover (shard by shard when sharded); a single user is recomputed whenever their quotes change.
+// Each pick is stamped with the sequence number of the read it came from, so a chunk that read a user's quotes
+// before they changed cannot overwrite the pick refreshed after the change.
+@Slf4j
+@Service
+public class QuoteOfTheDayService {
+
+    private final DailyQuoteStore dailyQuoteStore;
+    private final QuoteShards quoteShards;
+    private final Executor executor;
+    private final int chunkSize;
+    private final Clock clock;
+    private final Map<UUID, Pick> picks = new ConcurrentHashMap<>();
+    private final AtomicLong reads = new AtomicLong();
+
+    @Autowired
+    public QuoteOfTheDayService(DailyQuoteStore dailyQuoteStore,
+                                QuoteShards quoteShards,
+                                @Qualifier(SchedulingConfig.QUOTE_OF_THE_DAY_EXECUTOR) Executor executor,
+                                @Value("${daily-quotes.quote-of-the-day.chunk-size:500}") int chunkSize,
+                                @Value("${daily-quotes.quote-of-the-day.zone:UTC}") String zone) {
+        this(dailyQuoteStore, quoteShards, executor, chunkSize, Clock.system(ZoneId.of(zone)));
+    }
+
+    QuoteOfTheDayService(DailyQuoteStore dailyQuoteStore, QuoteShards quoteShards, Executor executor, int chunkSize, Clock clock) {
+        this.dailyQuoteStore = dailyQuoteStore;
+        this.quoteShards = quoteShards;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.clock = clock;
+    }
+
+    // Today's pick for the user; computed on demand if the nightly run has not covered them yet
+    public Optional<DailyQuote> getTodaysQuote(UUID userId) {
+        LocalDate today = LocalDate.now(clock);
+        Pick pick = picks.get(userId);
+        if (pick == null || !pick.day().equals(today)) {
+            pick = refreshUser(userId, today);
+        }
+        return Optional.ofNullable(pick.quote());
+    }
+
+    // Coordinated from the scheduler thread like the nightly run; the chunks it waits on need the executor's threads
+    @Async(ScheduledAnnotationBeanPostProcessor.DEFAULT_TASK_SCHEDULER_BEAN_NAME)
+    @EventListener(ApplicationReadyEvent.class)
+    public void precomputeOnStartup() {
+        precomputeAll();
+    }
+
+    @Scheduled(cron = "${daily-quotes.quote-of-the-day.cron:0 0 0 * * *}", zone = "${daily-quotes.quote-of-the-day.zone:UTC}")
+    public void precomputeAll() {
+        LocalDate today = LocalDate.now(clock);
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+
+        // All of a user's quotes are on one shard, so each shard's users are complete on their own
+        quoteShards.forEachShard(shard -> {
+            List<UUID> userIds = quoteShards.onShard(shard, () -> dailyQuoteStore.findUserIds(Limit.of(chunkSize)));
+            while (!userIds.isEmpty()) {
+                List<UUID> chunk = userIds;
+                chunks.add(CompletableFuture.runAsync(() -> computeChunk(shard, chunk, today), executor));
+                userIds = chunk.size() < chunkSize
+                        ? List.of()
+                        : quoteShards.onShard(shard, () -> dailyQuoteStore.findUserIdsAfter(chunk.get(chunk.size() - 1), Limit.of(chunkSize)));
+            }
+        });
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+        picks.values().removeIf(pick -> pick.day().isBefore(today));
+        log.info("Computed quote of the day for {} users in {} chunks ({} ms)",
+                picks.size(), chunks.size(), System.currentTimeMillis() - start);
+    }
+
+    // Runs after the writing transaction commits, so the refresh sees the new data
+    @Async(SchedulingConfig.QUOTE_OF_THE_DAY_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuotesChanged(DailyQuotesChangedEvent event) {
+        refreshUser(event.userId(), LocalDate.now(clock));
+    }
+
+    private void computeChunk(String shard, List<UUID> userIds, LocalDate day) {
+        long read = reads.incrementAndGet();
+        Map<UUID, List<DailyQuote>> quotesByUser = quoteShards.onShard(shard, () -> dailyQuoteStore.findByUserIdIn(userIds)).stream()
+                .collect(Collectors.groupingBy(DailyQuote::getUserId));
+        quotesByUser.forEach((userId, quotes) ->
+                store(userId, new Pick(day, QuoteOfTheDayPicker.pick(userId, quotes, day), read)));
+    }
+
+    // A user without quotes keeps an empty pick, so an older read cannot bring back a deleted quote
+    private Pick refreshUser(UUID userId, LocalDate day) {
+        long read = reads.incrementAndGet();
+        List<DailyQuote> quotes = quoteShards.readForUser(userId, () -> dailyQuoteStore.findByUserId(userId));
+        return store(userId, new Pick(day, quotes.isEmpty() ? null : QuoteOfTheDayPicker.pick(userId, quotes, day), read));
+    }
+
+    // Keeps whichever pick comes from the later read
+    private Pick store(UUID userId, Pick pick) {
+        return picks.merge(userId, pick, (current, candidate) -> current.read() > candidate.read() ? current : candidate);
+    }
+
+    private record Pick(LocalDate day, DailyQuote quote, long read) {
+    }
+}
@@ -0,0 +1,252 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.exception.EntityNotFoundException;
+import app.lifeplanner.dailyquotes.exception.ServiceOverloadedException;
+import app.lifeplanner.dailyquotes.model.ShardSlots;
+import app.lifeplanner.dailyquotes.repository.ShardRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+// Routes store calls to the shard that owns the data when sharding is enabled. A user's quotes live on the shard
+// owning the user's slot and quote ids carry the slot of the user they were created for, so reads and writes by
+// user or by id usually touch exactly one shard. A quote handed to a user in another slot moves to that user's
+// shard and keeps its id, and ids minted before sharding carry no slot: such quotes are looked for on the other
+// shards. Without sharding every call runs as is against the single database.
+@Component
+public class QuoteShards {
+
+    private static final long FREEZE_POLL_NANOS = 1_000_000;
+
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private volatile ShardRing ring;
+    // Writes running in each slot, and slots whose writes are held back while a rebalance cuts over
+    private final AtomicIntegerArray writing = new AtomicIntegerArray(ShardSlots.SLOTS);
+    private final AtomicIntegerArray frozen = new AtomicIntegerArray(ShardSlots.SLOTS);
+
+    @Autowired
+    public QuoteShards(@Value("${daily-quotes.sharding.enabled:false}") boolean enabled,
+                       @Value("${daily-quotes.sharding.ring:${daily-quotes.sharding.shards:}}") List<String> ring,
+                       @Value("${daily-quotes.limiter.retry-after:1s}") Duration retryAfter) {
+        this.enabled = enabled;
+        this.retryAfter = retryAfter;
+        this.ring = enabled ? new ShardRing(ring) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The current assignment of slots to shards (null without sharding)
+    public ShardRing getRing() {
+        return ring;
+    }
+
+    public <T> T readForUser(UUID userId, Supplier<T> read) {
+        return read(new int[]{ShardSlots.ofUser(userId)}, read);
+    }
+
+    // Reads a quote by id from the shard its id points to; when found rejects the result there (the quote moved
+    // with a new owner) or the id carries no slot, the other shards are read one after another
+    public <T> T readForQuote(UUID quoteId, Supplier<T> read, Predicate<T> found) {
+        if (!enabled) {
+            return read.get();
+        }
+        ShardRing current = ring;
+        String pointedTo = null;
+        T result = null;
+        if (ShardSlots.carriesSlot(quoteId)) {
+            pointedTo = current.shardOf(ShardSlots.ofQuote(quoteId));
+            result = ShardRoutingDataSource.on(pointedTo, read);
+            if (found.test(result)) {
+                return result;
+            }
+        }
+        for (String shard : current.getShards()) {
+            if (shard.equals(pointedTo)) {
+                continue;
+            }
+            result = ShardRoutingDataSource.on(shard, read);
+            if (found.test(result)) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    public <T> T writeForUser(UUID userId, Supplier<T> write) {
+        return write(new int[]{ShardSlots.ofUser(userId)}, write);
+    }
+
+    // Writes a quote by id on the shard its id points to. When the write reports the quote missing there (it moved
+    // with a new owner) or the id carries no slot, ownerLookup (empty where the quote is not stored) is run on one
+    // shard after another and the write goes to its owner's slot; a quote found nowhere is reported missing.
+    public <T> T writeForQuote(UUID quoteId, Supplier<Optional<UUID>> ownerLookup, Supplier<T> write) {
+        if (!enabled) {
+            return write.get();
+        }
+        EntityNotFoundException missing = null;
+        if (ShardSlots.carriesSlot(quoteId)) {
+            try {
+                return write(new int[]{ShardSlots.ofQuote(quoteId)}, write);
+            } catch (EntityNotFoundException e) {
+                missing = e;
+            }
+        }
+        for (String shard : ring.getShards()) {
+            Optional<UUID> owner = ShardRoutingDataSource.on(shard, ownerLookup);
+            if (owner.isPresent()) {
+                return write(new int[]{ShardSlots.ofUser(owner.get())}, write);
+            }
+        }
+        if (missing != null) {
+            throw missing;
+        }
+        return write(new int[]{0}, write);
+    }
+
+    // Whether the quote's id points to a shard to look on first (always true without sharding)
+    public boolean knowsShardOf(UUID quoteId) {
+        return !enabled || ShardSlots.carriesSlot(quoteId);
+    }
+
+    // Splits items into groups that each live on one shard (a single group holding everything without sharding)
+    public <E> List<List<E>> partition(List<E> items, ToIntFunction<E> slotOf) {
+        if (!enabled) {
+            return List.of(items);
+        }
+        ShardRing current = ring;
+        Map<String, List<E>> groups = new LinkedHashMap<>();
+        for (E item : items) {
+            groups.computeIfAbsent(current.shardOf(slotOf.applyAsInt(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return List.copyOf(groups.values());
+    }
+
+    // Reads or writes one group from partition() on its shard
+    public <E, T> T readGroup(List<E> group, ToIntFunction<E> slotOf, Supplier<T> read) {
+        return read(group.stream().mapToInt(slotOf).distinct().toArray(), read);
+    }
+
+    public <E, T> T writeGroup(List<E> group, ToIntFunction<E> slotOf, Supplier<T> write) {
+        return write(group.stream().mapToInt(slotOf).distinct().toArray(), write);
+    }
+
+    // Runs work once per shard in the ring, passing the shard name (once with null without sharding)
+    public void forEachShard(Consumer<String> work) {
+        if (!enabled) {
+            work.accept(null);
+            return;
+        }
+        ring.getShards().forEach(work);
+    }
+
+    // Runs work against the named shard; null runs it unrouted
+    public <T> T onShard(String shard, Supplier<T> work) {
+        return shard == null ? work.get() : ShardRoutingDataSource.on(shard, work);
+    }
+
+    // Writes that hand quotes from one user to another count against both users' slots, so neither can move to
+    // another shard while they run. When both slots are on one shard sameShardWrite runs there; otherwise
+    // moveWrite runs on fromUserId's shard and reaches toUserId's through onShardOfUser.
+    public <T> T writeForHandover(UUID fromUserId, UUID toUserId, Supplier<T> sameShardWrite, Supplier<T> moveWrite) {
+        if (!enabled) {
+            return sameShardWrite.get();
+        }
+        int fromSlot = ShardSlots.ofUser(fromUserId);
+        int toSlot = ShardSlots.ofUser(toUserId);
+        return counted(new int[]{fromSlot, toSlot}, () -> {
+            ShardRing current = ring;
+            String fromShard = current.shardOf(fromSlot);
+            return ShardRoutingDataSource.on(fromShard, current.shardOf(toSlot).equals(fromShard) ? sameShardWrite : moveWrite);
+        });
+    }
+
+    // Runs work on the shard owning the user's slot without counting it as another write: for a handover's
+    // moveWrite, which already counts the slot, so a freeze that began meanwhile waits for it instead of failing it
+    public <T> T onShardOfUser(UUID userId, Supplier<T> work) {
+        return enabled ? ShardRoutingDataSource.on(ring.shardOf(ShardSlots.ofUser(userId)), work) : work.get();
+    }
+
+    // Holds back new writes to the slots and waits for the ones already running
+    void freeze(int[] slots) {
+        for (int slot : slots) {
+            frozen.set(slot, 1);
+        }
+        for (int slot : slots) {
+            while (writing.get(slot) > 0) {
+                LockSupport.parkNanos(FREEZE_POLL_NANOS);
+            }
+        }
+    }
+
+    void unfreeze(int[] slots) {
+        for (int slot : slots) {
+            frozen.set(slot, 0);
+        }
+    }
+
+    void switchRing(ShardRing target) {
+        this.ring = target;
+    }
+
+    private <T> T read(int[] slots, Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        return ShardRoutingDataSource.on(shardOf(slots), read);
+    }
+
+    private <T> T write(int[] slots, Supplier<T> write) {
+        if (!enabled) {
+            return write.get();
+        }
+        return counted(slots, () -> ShardRoutingDataSource.on(shardOf(slots), write));
+    }
+
+    // The write is counted before the frozen check, so freeze() either sees it running or the write sees the freeze
+    private <T> T counted(int[] slots, Supplier<T> write) {
+        for (int slot : slots) {
+            writing.incrementAndGet(slot);
+        }
+        try {
+            for (int slot : slots) {
+                if (frozen.get(slot) != 0) {
+                    throw new ServiceOverloadedException("Quotes are moving to another shard", retryAfter);
+                }
+            }
+            return write.get();
+        } finally {
+            for (int slot : slots) {
+                writing.decrementAndGet(slot);
+            }
+        }
+    }
+
+    // A group partitioned just before a rebalance switched the ring may now span shards; the caller retries
+    private String shardOf(int[] slots) {
+        ShardRing current = ring;
+        String shard = current.shardOf(slots[0]);
+        for (int slot : slots) {
+            if (!current.shardOf(slot).equals(shard)) {
+                throw new ServiceOverloadedException("Shards were rebalanced during the call", retryAfter);
+            }
+        }
+        return shard;
+    }
+}
@@ -0,0 +1,54 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.repository.ReadWriteRoutingDataSource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// Read-your-writes on top of replica routing: users and quotes written within the window are read from the
+// primary, so a client never sees its own write vanish because the replica is behind. The window must cover
+// the replica's usual lag. Does nothing unless replica routing is enabled.
+@Component
+public class RecentWrites {
+
+    private static final int MAX_TRACKED = 100_000;
+
+    private final Cache<UUID, Boolean> written;
+
+    @Autowired
+    public RecentWrites(@Value("${daily-quotes.replica.enabled:false}") boolean replicaEnabled,
+                        @Value("${daily-quotes.replica.read-your-writes-window:5s}") Duration window) {
+        this.written = replicaEnabled && window.isPositive()
+                ? Caffeine.newBuilder().expireAfterWrite(window).maximumSize(MAX_TRACKED).build()
+                : null;
+    }
+
+    // key is a user id or a quote id
+    public void record(UUID key) {
+        if (written != null && key != null) {
+            written.put(key, Boolean.TRUE);
+        }
+    }
+
+    // Runs read on the primary when key was written within the window, otherwise wherever routing sends it
+    public <T> T read(UUID key, Supplier<T> read) {
+        if (written != null && key != null && written.getIfPresent(key) != null) {
+            return ReadWriteRoutingDataSource.onPrimary(read);
+        }
+        return read.get();
+    }
+
+    public <T> T read(Collection<UUID> keys, Supplier<T> read) {
+        if (written != null && keys.stream().anyMatch(key -> written.getIfPresent(key) != null)) {
+            return ReadWriteRoutingDataSource.onPrimary(read);
+        }
+        return read.get();
+    }
+}
@@ -0,0 +1,250 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.ShardSlots;
+import app.lifeplanner.dailyquotes.repository.ShardMoveRepository;
+import app.lifeplanner.dailyquotes.repository.ShardRingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Online rebalancing to a new ring (shards added or removed) while the service keeps serving:
+// 1. copy: quotes of the slots that change owner are copied to their new shard; reads and writes still use the old one
+// 2. freeze: writes to those slots are answered 503 with Retry-After and writes already running are waited for
+// 3. catch up: a second copy picks up writes made during step 1, and copies of quotes deleted or handed to an
+//    owner outside the moving slots meanwhile are removed
+// 4. cutover: the new ring is stored on the first configured shard, takes effect and the slots are unfrozen
+// 5. clean up: the moved quotes are deleted from their old shards
+// A quote moves with its owner's slot, which is also the slot in its id unless the id predates sharding or the
+// quote changed hands. Writes to the moving slots pause for the length of step 3 only. The stored ring replaces
+// daily-quotes.sharding.ring at startup, so a restart after step 5 never routes to the emptied shards; other
+// running instances keep their ring in memory, so run a single instance while rebalancing. Quote handovers between
+// shards that a crash interrupted are undone at startup and before each rebalance.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "daily-quotes.sharding.enabled", havingValue = "true")
+public class ShardRebalancer implements SmartInitializingSingleton {
+
+    private final QuoteShards quoteShards;
+    private final ShardMoveRepository shardMoveRepository;
+    private final ShardRingRepository shardRingRepository;
+    private final List<String> configuredShards;
+    private final int chunkSize;
+    private final Duration handoverRepairAfter;
+    private final ReentrantLock running = new ReentrantLock();
+
+    @Autowired
+    public ShardRebalancer(QuoteShards quoteShards,
+                           ShardMoveRepository shardMoveRepository,
+                           ShardRingRepository shardRingRepository,
+                           @Value("${daily-quotes.sharding.shards}") List<String> configuredShards,
+                           @Value("${daily-quotes.sharding.rebalance-chunk-size:500}") int chunkSize,
+                           @Value("${daily-quotes.sharding.handover-repair-after:1m}") Duration handoverRepairAfter) {
+        this.quoteShards = quoteShards;
+        this.shardMoveRepository = shardMoveRepository;
+        this.shardRingRepository = shardRingRepository;
+        this.configuredShards = configuredShards;
+        this.chunkSize = chunkSize;
+        this.handoverRepairAfter = handoverRepairAfter;
+    }
+
+    // Runs once every shard is migrated and before requests are served: the ring stored by the last rebalance
+    // takes over from the configured one, then interrupted handovers are undone
+    @Override
+    public void afterSingletonsInstantiated() {
+        quoteShards.onShard(configuredShards.get(0), shardRingRepository::find).ifPresent(stored -> {
+            if (!configuredShards.containsAll(stored)) {
+                throw new IllegalStateException("Stored shard ring " + stored + " names shards missing from " + configuredShards);
+            }
+            if (!stored.equals(quoteShards.getRing().getShards())) {
+                log.info("Using the stored shard ring {} instead of the configured {}", stored, quoteShards.getRing().getShards());
+                quoteShards.switchRing(new ShardRing(stored));
+            }
+        });
+        repairHandovers();
+    }
+
+    // A handover recorded longer ago than handoverRepairAfter was interrupted (a running one takes milliseconds, so
+    // those of other instances are left alone): when its original is still in place its copy on the new owner's
+    // shard is deleted, and the record is dropped either way
+    void repairHandovers() {
+        Instant cutoff = Instant.now().minus(handoverRepairAfter);
+        ShardRing ring = quoteShards.getRing();
+        for (String shard : ring.getShards()) {
+            List<ShardMoveRepository.Handover> stalled = quoteShards.onShard(shard, () -> shardMoveRepository.findHandoversBefore(cutoff));
+            if (stalled.isEmpty()) {
+                continue;
+            }
+            List<UUID> ids = stalled.stream().map(ShardMoveRepository.Handover::quoteId).toList();
+            Set<UUID> originals = quoteShards.onShard(shard, () -> shardMoveRepository.findVersions(ids)).keySet();
+            for (ShardMoveRepository.Handover handover : stalled) {
+                String copyShard = ring.shardOf(ShardSlots.ofUser(handover.toUserId()));
+                if (originals.contains(handover.quoteId()) && !copyShard.equals(shard)) {
+                    quoteShards.onShard(copyShard, () -> shardMoveRepository.deleteByIds(List.of(handover.quoteId())));
+                }
+            }
+            quoteShards.onShard(shard, () -> shardMoveRepository.forgetHandovers(ids));
+            log.warn("Repaired {} interrupted quote handovers from shard {}", stalled.size(), shard);
+        }
+    }
+
+    public Rebalance rebalance(List<String> targetShards) {
+        if (targetShards.isEmpty() || !configuredShards.containsAll(targetShards)) {
+            throw new IllegalArgumentException("Target shards " + targetShards + " must be among the configured shards " + configuredShards);
+        }
+        if (!running.tryLock()) {
+            throw new IllegalStateException("A rebalance is already running");
+        }
+        try {
+            repairHandovers();
+            long start = System.currentTimeMillis();
+            ShardRing current = quoteShards.getRing();
+            ShardRing target = new ShardRing(targetShards);
+            int[] moving = current.slotsMovingTo(target);
+            if (moving.length == 0) {
+                storeRing(target);
+                quoteShards.switchRing(target);
+                return new Rebalance(target.getShards(), 0, 0);
+            }
+            BitSet movingSlots = new BitSet(ShardSlots.SLOTS);
+            for (int slot : moving) {
+                movingSlots.set(slot);
+            }
+
+            long copied = copy(current, target, movingSlots);
+            quoteShards.freeze(moving);
+            try {
+                copied += copy(current, target, movingSlots);
+                removeDeletedCopies(current, target, movingSlots);
+                storeRing(target);
+                quoteShards.switchRing(target);
+            } finally {
+                quoteShards.unfreeze(moving);
+            }
+            long moved = removeMovedOriginals(current, movingSlots);
+
+            log.info("Rebalanced shards {} -> {}: {} slots, {} quotes moved ({} rows copied) in {} ms",
+                    current.getShards(), target.getShards(), moving.length, moved, copied, System.currentTimeMillis() - start);
+            return new Rebalance(target.getShards(), moving.length, moved);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    // Copies the quotes of moving slots from the shard owning them now to the one owning them in target;
+    // returns the number of rows written (unchanged copies are skipped)
+    private long copy(ShardRing current, ShardRing target, BitSet movingSlots) {
+        long written = 0;
+        for (String source : current.getShards()) {
+            UUID after = null;
+            List<DailyQuote> page;
+            do {
+                page = page(source, after);
+                Map<String, List<DailyQuote>> byTarget = new LinkedHashMap<>();
+                for (DailyQuote quote : page) {
+                    int slot = ShardSlots.ofUser(quote.getUserId());
+                    if (movingSlots.get(slot) && current.shardOf(slot).equals(source)) {
+                        byTarget.computeIfAbsent(target.shardOf(slot), shard -> new ArrayList<>()).add(quote);
+                    }
+                }
+                for (Map.Entry<String, List<DailyQuote>> copies : byTarget.entrySet()) {
+                    written += quoteShards.onShard(copies.getKey(), () -> shardMoveRepository.upsert(copies.getValue()));
+                }
+                after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+            } while (page.size() == chunkSize);
+        }
+        return written;
+    }
+
+    // Deletes copies that no longer match their original after the catch-up copy: the original was deleted, was
+    // handed to an owner outside the slots moving from its shard to this one, or changed after it was copied
+    private void removeDeletedCopies(ShardRing current, ShardRing target, BitSet movingSlots) {
+        for (String copyShard : target.getShards()) {
+            UUID after = null;
+            List<DailyQuote> page;
+            do {
+                page = page(copyShard, after);
+                Map<String, List<DailyQuote>> bySource = new LinkedHashMap<>();
+                for (DailyQuote quote : page) {
+                    int slot = ShardSlots.ofUser(quote.getUserId());
+                    if (movingSlots.get(slot) && target.shardOf(slot).equals(copyShard)) {
+                        bySource.computeIfAbsent(current.shardOf(slot), shard -> new ArrayList<>()).add(quote);
+                    }
+                }
+                for (Map.Entry<String, List<DailyQuote>> copies : bySource.entrySet()) {
+                    String source = copies.getKey();
+                    Map<UUID, DailyQuote> originals = quoteShards.onShard(source,
+                            () -> shardMoveRepository.findByIds(copies.getValue().stream().map(DailyQuote::getId).toList()));
+                    List<UUID> stale = copies.getValue().stream()
+                            .filter(copy -> !matches(originals.get(copy.getId()), copy, source, copyShard, current, target, movingSlots))
+                            .map(DailyQuote::getId)
+                            .toList();
+                    quoteShards.onShard(copyShard, () -> shardMoveRepository.deleteByIds(stale));
+                }
+                after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+            } while (page.size() == chunkSize);
+        }
+    }
+
+    private static boolean matches(DailyQuote original, DailyQuote copy, String source, String copyShard,
+                                   ShardRing current, ShardRing target, BitSet movingSlots) {
+        if (original == null) {
+            return false;
+        }
+        int slot = ShardSlots.ofUser(original.getUserId());
+        return movingSlots.get(slot)
+                && current.shardOf(slot).equals(source)
+                && target.shardOf(slot).equals(copyShard)
+                && Objects.equals(original.getVersion(), copy.getVersion());
+    }
+
+    // After the cutover the old shards' rows of moving slots are unreachable; delete them
+    private long removeMovedOriginals(ShardRing current, BitSet movingSlots) {
+        long removed = 0;
+        for (String source : current.getShards()) {
+            UUID after = null;
+            List<DailyQuote> page;
+            do {
+                page = page(source, after);
+                List<UUID> originals = page.stream()
+                        .filter(quote -> movingSlots.get(ShardSlots.ofUser(quote.getUserId()))
+                                && current.shardOf(ShardSlots.ofUser(quote.getUserId())).equals(source))
+                        .map(DailyQuote::getId)
+                        .toList();
+                removed += quoteShards.onShard(source, () -> shardMoveRepository.deleteByIds(originals));
+                after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+            } while (page.size() == chunkSize);
+        }
+        return removed;
+    }
+
+    // Stored before the cutover: a failure leaves the current ring in place, with its rows not yet cleaned up
+    private void storeRing(ShardRing ring) {
+        quoteShards.onShard(configuredShards.get(0), () -> {
+            shardRingRepository.save(ring.getShards());
+            return null;
+        });
+    }
+
+    private List<DailyQuote> page(String shard, UUID after) {
+        return quoteShards.onShard(shard, () -> shardMoveRepository.findPageAfter(after, chunkSize));
+    }
+
+    public record Rebalance(List<String> shards, int movedSlots, long movedQuotes) {
+    }
+}
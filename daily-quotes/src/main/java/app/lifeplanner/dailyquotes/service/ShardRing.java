@@ -0,0 +1,70 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.model.ShardSlots;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+// Consistent hashing of the shard slots onto named shards: each shard puts POINTS_PER_SHARD points on a 64-bit
+// ring and a slot belongs to the first point at or after its own position. Adding a shard only takes over the
+// slots that now fall on its points (about 1/N of them); every other slot stays where it was. The assignment
+// depends on the shard names alone, so every instance configured with the same names agrees on it.
+public final class ShardRing {
+
+    private static final int POINTS_PER_SHARD = 128;
+
+    private final List<String> shards;
+    private final String[] owners = new String[ShardSlots.SLOTS];
+
+    public ShardRing(Collection<String> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("A shard ring needs at least one shard");
+        }
+        this.shards = List.copyOf(new LinkedHashSet<>(shards));
+        NavigableMap<Long, String> points = new TreeMap<>();
+        for (String shard : this.shards) {
+            for (int point = 0; point < POINTS_PER_SHARD; point++) {
+                points.putIfAbsent(position(shard + "#" + point), shard);
+            }
+        }
+        for (int slot = 0; slot < ShardSlots.SLOTS; slot++) {
+            Map.Entry<Long, String> owner = points.ceilingEntry(position("slot#" + slot));
+            owners[slot] = (owner != null ? owner : points.firstEntry()).getValue();
+        }
+    }
+
+    public List<String> getShards() {
+        return shards;
+    }
+
+    public String shardOf(int slot) {
+        return owners[slot];
+    }
+
+    public long slotCount(String shard) {
+        return IntStream.range(0, ShardSlots.SLOTS).filter(slot -> owners[slot].equals(shard)).count();
+    }
+
+    // Slots owned by a different shard in target than in this ring
+    public int[] slotsMovingTo(ShardRing target) {
+        return IntStream.range(0, ShardSlots.SLOTS).filter(slot -> !owners[slot].equals(target.owners[slot])).toArray();
+    }
+
+    private static long position(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
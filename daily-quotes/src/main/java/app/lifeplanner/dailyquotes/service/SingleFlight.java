@@ -0,0 +1,79 @@
+package app.lifeplanner.dailyquotes.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+// Runs at most one load per key at a time: callers arriving while a load for the same key is in flight
+// wait for it and share its result (or its exception) instead of starting their own. ConcurrentHashMap
+// only locks the bin it updates, so loads for different keys never contend, and an entry lives only as
+// long as its load. Counted in daily_quotes.single_flight.calls{name, result=executed|coalesced}.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = calls(name, "executed", meterRegistry);
+        this.coalesced = calls(name, "coalesced", meterRegistry);
+        Gauge.builder("daily_quotes.single_flight.in_flight", inFlight, Map::size)
+                .description("Loads currently in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        executed.increment();
+        try {
+            V value = loader.get();
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    // Called after a write: later callers start a fresh load instead of joining one that may have
+    // read the state from before the write
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter calls(String name, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("daily_quotes.single_flight.calls")
+                .description("Calls that ran a load or shared one already in flight")
+                .tags("name", name, "result", result)
+                .register(meterRegistry);
+    }
+}
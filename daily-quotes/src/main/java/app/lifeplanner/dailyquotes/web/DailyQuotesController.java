@@ -1,17 +1,50 @@
 package app.lifeplanner.dailyquotes.web;
 
 import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.service.DailyQuoteExportService;
 import app.lifeplanner.dailyquotes.service.DailyQuoteService;
+import app.lifeplanner.dailyquotes.service.QuoteIngestionService;
+import app.lifeplanner.dailyquotes.service.QuoteOfTheDayService;
 import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuotesBatch;
+import app.lifeplanner.dailyquotes.web.dto.BulkOperationResponse;
+import app.lifeplanner.dailyquotes.web.dto.DailyQuotesLookup;
+import app.lifeplanner.dailyquotes.web.dto.DailyQuotesLookupResponse;
+import app.lifeplanner.dailyquotes.web.dto.DailyQuotesPageResponse;
 import app.lifeplanner.dailyquotes.web.dto.EditDailyQuotesRequest;
+import app.lifeplanner.dailyquotes.web.dto.TransferDailyQuotesRequest;
 import app.lifeplanner.dailyquotes.web.mapper.DailyQuoteMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -19,59 +52,225 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/v1/daily-quotes")
 public class DailyQuotesController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final DailyQuoteService dailyQuoteService;
+    private final DailyQuoteExportService dailyQuoteExportService;
+    private final QuoteOfTheDayService quoteOfTheDayService;
+    private final QuoteIngestionService quoteIngestionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final DistributionSummary userListSize;
 
     @Autowired
-    public DailyQuotesController(DailyQuoteService dailyQuoteService) {
+    public DailyQuotesController(DailyQuoteService dailyQuoteService,
+                                 DailyQuoteExportService dailyQuoteExportService,
+                                 QuoteOfTheDayService quoteOfTheDayService,
+                                 ObjectProvider<QuoteIngestionService> quoteIngestionService,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 MeterRegistry meterRegistry) {
         this.dailyQuoteService = dailyQuoteService;
+        this.dailyQuoteExportService = dailyQuoteExportService;
+        this.quoteOfTheDayService = quoteOfTheDayService;
+        // Only present in write-behind ingestion mode
+        this.quoteIngestionService = quoteIngestionService.getIfAvailable();
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.userListSize = DistributionSummary.builder("daily_quotes.user.list.size")
+                .description("Number of quotes in a GET /user/{userId} response")
+                .baseUnit("quotes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
+    // GET endpoint for a user's quotes; an unchanged list (If-None-Match) is answered with 304
+    // straight from the cached views, before any serialization. The views are the response body as-is.
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<AddDailyQuoteRequest>> getQuotesByUserId(@PathVariable UUID userId) {
-        List<DailyQuote> quotes = dailyQuoteService.getQuotesByUserId(userId);
-        List<AddDailyQuoteRequest> dtos = quotes.stream()
-                .map(DailyQuoteMapper::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<DailyQuoteView>> getQuotesByUserId(@PathVariable UUID userId, WebRequest webRequest) {
+        List<DailyQuoteView> quotes = dailyQuoteService.getQuotesByUserId(userId);
+        userListSize.record(quotes.size());
+        String eTag = QuoteETags.ofList(quotes);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(quotes);
+    }
+
+    // GET endpoint for the quote this user sees today (precomputed, served from memory)
+    @GetMapping("/user/{userId}/today")
+    public ResponseEntity<AddDailyQuoteRequest> getTodaysQuote(@PathVariable UUID userId) {
+        return quoteOfTheDayService.getTodaysQuote(userId)
+                .map(q -> ResponseEntity.ok(DailyQuoteMapper.fromEntity(q)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // GET endpoint to page through a user's quotes with an opaque keyset cursor
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<DailyQuotesPageResponse> getQuotesPageByUserId(@PathVariable UUID userId,
+                                                                         @RequestParam(defaultValue = "50") int limit,
+                                                                         @RequestParam(required = false) String next) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        UUID afterId = next == null ? null : PageCursor.decode(next);
+        // One extra row tells us whether another page follows without a COUNT query
+        List<DailyQuoteView> quotes = dailyQuoteService.getQuotesPageByUserId(userId, afterId, pageSize + 1);
+        boolean hasMore = quotes.size() > pageSize;
+        List<DailyQuoteView> items = hasMore ? quotes.subList(0, pageSize) : quotes;
+        String nextCursor = hasMore ? PageCursor.encode(items.get(items.size() - 1).id()) : null;
+        return ResponseEntity.ok(DailyQuotesPageResponse.builder()
+                .items(items)
+                .next(nextCursor)
+                .build());
     }
 
-    // GET endpoint to retrieve a specific quote by ID
+    // GET endpoint streaming all quotes (or one user's quotes) as newline-delimited JSON
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportQuotes(@RequestParam(required = false) UUID userId) {
+        // Let the generator's buffer decide when to flush instead of flushing after every row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                dailyQuoteExportService.exportQuotes(userId, quote -> {
+                    try {
+                        writer.writeValue(generator, DailyQuoteMapper.fromEntity(quote));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // GET endpoint to retrieve a specific quote by ID; the ETag carries its version for If-Match,
+    // and Spring answers a matching If-None-Match with 304 and no body. In write-behind mode a quote
+    // accepted but not yet drained is served from memory (checked first, as it leaves memory only once stored).
     @GetMapping("/{id}")
-    public ResponseEntity<AddDailyQuoteRequest> getQuoteById(@PathVariable UUID id) {
-        Optional<DailyQuote> optQuote = dailyQuoteService.getQuoteById(id);
-        return optQuote.map(q -> ResponseEntity.ok(DailyQuoteMapper.fromEntity(q)))
+    public ResponseEntity<DailyQuoteView> getQuoteById(@PathVariable UUID id) {
+        Optional<DailyQuoteView> optQuote = Optional.ofNullable(quoteIngestionService)
+                .flatMap(ingestion -> ingestion.getPendingQuote(id))
+                .or(() -> dailyQuoteService.getQuoteById(id));
+        return optQuote.map(q -> withETag(ResponseEntity.ok(), q.version()).body(q))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    // POST endpoint to add a new daily quote using DTO
+    // GET endpoint to fetch many quotes in one request (?ids=a,b,c) instead of one GET /{id} per quote.
+    // Cached quotes are served from the cache and the rest are read with IN queries; unknown ids are listed as missing.
+    @GetMapping(params = "ids")
+    public ResponseEntity<DailyQuotesLookupResponse> getQuotesByIds(@RequestParam List<UUID> ids) {
+        return ResponseEntity.ok(lookup(ids));
+    }
+
+    // POST variant of the multi-get for id lists too long for a URL; the body is a JSON array of ids
+    @PostMapping("/lookup")
+    public ResponseEntity<DailyQuotesLookupResponse> lookupQuotes(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(lookup(ids));
+    }
+
+    // POST endpoint to add a new daily quote using DTO. In write-behind mode the quote is only logged
+    // and the answer is 202 Accepted with its id; it is readable at the Location right away. It is validated
+    // first, since the drain stores it long after the client has gone.
     @PostMapping
     public ResponseEntity<AddDailyQuoteRequest> addDailyQuote(@RequestBody AddDailyQuoteRequest addDailyQuoteRequest) {
         DailyQuote entity = DailyQuoteMapper.toEntity(addDailyQuoteRequest);
+        // Ids are assigned by the service; a client-supplied id would turn the insert into a merge
+        entity.setId(null);
+        if (quoteIngestionService != null) {
+            Set<ConstraintViolation<AddDailyQuoteRequest>> violations = validator.validate(addDailyQuoteRequest);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            DailyQuote accepted = quoteIngestionService.accept(entity);
+            return withETag(ResponseEntity.accepted(), accepted.getVersion())
+                    .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(accepted.getId()).toUri())
+                    .body(DailyQuoteMapper.fromEntity(accepted));
+        }
         DailyQuote saved = dailyQuoteService.addDailyQuote(entity);
         AddDailyQuoteRequest savedAddRequest = DailyQuoteMapper.fromEntity(saved);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedAddRequest);
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), saved.getVersion()).body(savedAddRequest);
     }
 
-    // PUT endpoint to update an existing quote using the EditDailyQuotesRequest DTO
-    @PutMapping("/{id}")
-    public ResponseEntity<EditDailyQuotesRequest> updateDailyQuote(@PathVariable UUID id, @RequestBody EditDailyQuotesRequest editRequest) {
-        Optional<DailyQuote> existingOpt = dailyQuoteService.getQuoteById(id);
-        if(existingOpt.isEmpty()){
-            return ResponseEntity.notFound().build();
-        }
-        DailyQuote existing = existingOpt.get();
-        if(editRequest.getUserId() == null) {
-            editRequest.setUserId(existing.getUserId());
+    // POST endpoint to add many quotes in one transaction; ids are always assigned by the service
+    // so Hibernate can persist (and batch) every row instead of merging client-supplied ids
+    @PostMapping("/batch")
+    public ResponseEntity<List<AddDailyQuoteRequest>> addDailyQuotes(@RequestBody List<AddDailyQuoteRequest> addDailyQuoteRequests) {
+        Set<ConstraintViolation<AddDailyQuotesBatch>> violations = validator.validate(new AddDailyQuotesBatch(addDailyQuoteRequests));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
         }
-        DailyQuote updated = dailyQuoteService.updateDailyQuote(DailyQuoteMapper.toEntity(editRequest));
-        return ResponseEntity.ok(DailyQuoteMapper.fromEntityToEdit(updated));
+        List<DailyQuote> entities = addDailyQuoteRequests.stream()
+                .map(DailyQuoteMapper::toEntity)
+                .peek(entity -> entity.setId(null))
+                .collect(Collectors.toList());
+        List<AddDailyQuoteRequest> saved = dailyQuoteService.addDailyQuotes(entities).stream()
+                .map(DailyQuoteMapper::fromEntity)
+                .collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    // PUT endpoint to update an existing quote using the EditDailyQuotesRequest DTO.
+    // A null userId keeps the current owner; If-Match makes the update conditional on the quote's version.
+    @PutMapping("/{id}")
+    public ResponseEntity<EditDailyQuotesRequest> updateDailyQuote(@PathVariable UUID id,
+                                                                   @RequestBody EditDailyQuotesRequest editRequest,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        editRequest.setId(id);
+        DailyQuote updated = dailyQuoteService.updateDailyQuote(DailyQuoteMapper.toEntity(editRequest), QuoteETags.parseIfMatch(ifMatch));
+        return withETag(ResponseEntity.ok(), updated.getVersion()).body(DailyQuoteMapper.fromEntityToEdit(updated));
+    }
 
-    // DELETE endpoint to delete a quote by ID
+
+    // DELETE endpoint to delete a quote by ID, optionally conditional on If-Match
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteDailyQuote(@PathVariable UUID id) {
-        dailyQuoteService.deleteDailyQuote(id);
+    public ResponseEntity<Void> deleteDailyQuote(@PathVariable UUID id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        dailyQuoteService.deleteDailyQuote(id, QuoteETags.parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    // DELETE endpoint removing all of a user's quotes with chunked set-based DELETEs; returns how many were deleted
+    @DeleteMapping("/user/{userId}")
+    public ResponseEntity<BulkOperationResponse> deleteQuotesByUserId(@PathVariable UUID userId) {
+        return ResponseEntity.ok(new BulkOperationResponse(dailyQuoteService.deleteQuotesByUserId(userId)));
+    }
+
+    // POST endpoint reassigning all of a user's quotes to another user; returns how many were moved
+    @PostMapping("/user/{userId}/transfer")
+    public ResponseEntity<BulkOperationResponse> transferQuotes(@PathVariable UUID userId,
+                                                                @Valid @RequestBody TransferDailyQuotesRequest transferRequest) {
+        return ResponseEntity.ok(new BulkOperationResponse(dailyQuoteService.transferQuotes(userId, transferRequest.getToUserId())));
+    }
+
+    private DailyQuotesLookupResponse lookup(List<UUID> ids) {
+        Set<ConstraintViolation<DailyQuotesLookup>> violations = validator.validate(new DailyQuotesLookup(ids));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        Map<UUID, DailyQuoteView> found = new HashMap<>();
+        if (quoteIngestionService != null) {
+            ids.forEach(id -> quoteIngestionService.getPendingQuote(id).ifPresent(q -> found.put(id, q)));
+        }
+        found.putAll(dailyQuoteService.getQuotesByIds(ids.stream().filter(id -> !found.containsKey(id)).toList()));
+        List<DailyQuoteView> items = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            DailyQuoteView quote = found.get(id);
+            if (quote != null) {
+                items.add(quote);
+            } else {
+                missing.add(id);
+            }
+        }
+        return DailyQuotesLookupResponse.builder()
+                .items(items)
+                .missing(missing)
+                .build();
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Long version) {
+        return version == null ? builder : builder.eTag(QuoteETags.of(version));
+    }
 }
\ No newline at end of file
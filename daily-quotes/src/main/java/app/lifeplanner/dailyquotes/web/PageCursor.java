@@ -0,0 +1,35 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.exception.InvalidPageCursorException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+// Encodes the last id of a page as an opaque, URL-safe token
+public final class PageCursor {
+
+    private PageCursor() {
+    }
+
+    public static String encode(UUID lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(lastId.getMostSignificantBits());
+        buffer.putLong(lastId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static UUID decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageCursorException("Invalid page cursor: " + cursor);
+        }
+        if (bytes.length != 16) {
+            throw new InvalidPageCursorException("Invalid page cursor: " + cursor);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
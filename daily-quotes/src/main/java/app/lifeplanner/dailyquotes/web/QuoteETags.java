@@ -0,0 +1,76 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.service.DailyQuoteService;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+// Strong ETags derived from the quote's optimistic-locking version, weak ones for lists
+public final class QuoteETags {
+
+    // Never equal to a stored version, so an unparseable If-Match always fails the precondition
+    private static final long UNMATCHABLE = -1L;
+
+    private QuoteETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // A user's list changes exactly when a quote is added, removed or re-versioned, so hashing
+    // (id, version) pairs identifies it without touching quote contents or serializing anything.
+    // The tag is weak: lists are only ever revalidated with If-None-Match, and Tomcat refuses to
+    // gzip a response that carries a strong ETag.
+    public static String ofList(List<DailyQuoteView> quotes) {
+        MessageDigest digest = sha256();
+        ByteBuffer entry = ByteBuffer.allocate(24);
+        for (DailyQuoteView quote : quotes) {
+            UUID id = quote.id();
+            entry.clear();
+            entry.putLong(id == null ? 0L : id.getMostSignificantBits());
+            entry.putLong(id == null ? 0L : id.getLeastSignificantBits());
+            entry.putLong(quote.version() == null ? -1L : quote.version());
+            digest.update(entry.array());
+        }
+        byte[] hash = digest.digest();
+        return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+    }
+
+    // Returns the version the client expects, DailyQuoteService.ANY_VERSION for "*" (the quote must exist),
+    // or null when there is no precondition
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        if (ifMatch.trim().equals("*")) {
+            return DailyQuoteService.ANY_VERSION;
+        }
+        String tag = ifMatch.trim();
+        // If-Match uses strong comparison, so a weak tag can never match
+        if (tag.startsWith("W/")) {
+            return UNMATCHABLE;
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            return UNMATCHABLE;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
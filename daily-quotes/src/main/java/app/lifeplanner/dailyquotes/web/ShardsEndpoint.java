@@ -0,0 +1,49 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.service.QuoteShards;
+import app.lifeplanner.dailyquotes.service.ShardRebalancer;
+import app.lifeplanner.dailyquotes.service.ShardRing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Sharding admin endpoint, exposed once "shards" is added to management.endpoints.web.exposure.include:
+// GET /actuator/shards lists the ring's shards with their slot counts,
+// POST /actuator/shards {"shards": "shard-0,shard-1,shard-2"} rebalances onto a new ring (see ShardRebalancer)
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(name = "daily-quotes.sharding.enabled", havingValue = "true")
+public class ShardsEndpoint {
+
+    private final QuoteShards quoteShards;
+    private final ShardRebalancer shardRebalancer;
+
+    @Autowired
+    public ShardsEndpoint(QuoteShards quoteShards, ShardRebalancer shardRebalancer) {
+        this.quoteShards = quoteShards;
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    @ReadOperation
+    public Map<String, Long> slots() {
+        ShardRing ring = quoteShards.getRing();
+        Map<String, Long> slots = new LinkedHashMap<>();
+        ring.getShards().forEach(shard -> slots.put(shard, ring.slotCount(shard)));
+        return slots;
+    }
+
+    @WriteOperation
+    public ShardRebalancer.Rebalance rebalance(String shards) {
+        return shardRebalancer.rebalance(Arrays.stream(shards.split(","))
+                .map(String::trim)
+                .filter(shard -> !shard.isEmpty())
+                .toList());
+    }
+}
@@ -0,0 +1,153 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.exception.SqlStatementBudgetExceededException;
+import app.lifeplanner.dailyquotes.repository.SqlStatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+
+// Counts the SQL statements and database time of each request. The totals go out as X-Sql-Statements /
+// X-Sql-Time-Ms response headers and as metrics per URI template. Going over the statement budget is
+// logged (or fails the request where daily-quotes.sql.fail-on-budget-exceeded is set, as in tests), and
+// redundant or N+1-shaped statements are logged.
+@Slf4j
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final int repeatedQueryThreshold;
+    private final boolean failOnBudgetExceeded;
+
+    @Autowired
+    public SqlStatementFilter(MeterRegistry meterRegistry,
+                              @Value("${daily-quotes.sql.statement-budget:25}") int statementBudget,
+                              @Value("${daily-quotes.sql.repeated-query-threshold:5}") int repeatedQueryThreshold,
+                              @Value("${daily-quotes.sql.fail-on-budget-exceeded:false}") boolean failOnBudgetExceeded) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.repeatedQueryThreshold = repeatedQueryThreshold;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        StatsHeaderResponse wrapped = new StatsHeaderResponse(response, stats);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            SqlStatementStats.end();
+            wrapped.writeHeaders();
+        }
+        report(request, stats);
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String endpoint = request.getMethod() + " " + uri;
+
+        DistributionSummary.builder("daily_quotes.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("daily_quotes.sql.time")
+                .description("Database time per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.time());
+
+        List<String> redundant = stats.redundantStatements();
+        if (!redundant.isEmpty()) {
+            log.warn("{} ran identical statements more than once: {}", endpoint, redundant);
+        }
+        List<String> repeated = stats.repeatedQueries(repeatedQueryThreshold);
+        if (!repeated.isEmpty()) {
+            log.warn("{} looks like an N+1 query: {}", endpoint, repeated);
+        }
+        if (stats.statements() > statementBudget) {
+            meterRegistry.counter("daily_quotes.sql.budget.exceeded", "method", request.getMethod(), "uri", uri).increment();
+            String message = endpoint + " ran " + stats.statements() + " SQL statements, budget is " + statementBudget;
+            if (failOnBudgetExceeded) {
+                throw new SqlStatementBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    // Headers must be set before the response commits, so they are written as soon as the body starts
+    // (by then the handler has done its queries) or, for bodiless responses, when the chain returns
+    private static class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementStats stats;
+        private boolean headersWritten;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(stats.statements()));
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.time().toNanos() / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+    }
+}
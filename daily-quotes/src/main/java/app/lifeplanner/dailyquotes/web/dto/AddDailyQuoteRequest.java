@@ -1,6 +1,7 @@
 package app.lifeplanner.dailyquotes.web.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Data;
 
@@ -11,6 +12,7 @@ import java.util.UUID;
 public class AddDailyQuoteRequest {
     private UUID id;
     @NotBlank(message = "Image URL cannot be blank")
+    @Size(max = 255, message = "Image URL cannot be longer than 255 characters")
     private String quoteImage;
     private UUID userId;
 }
\ No newline at end of file
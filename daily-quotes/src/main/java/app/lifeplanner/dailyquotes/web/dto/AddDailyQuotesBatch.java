@@ -0,0 +1,21 @@
+package app.lifeplanner.dailyquotes.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// Wraps the POST /batch body so every element is validated in one pass, with indexed property paths
+@Data
+@AllArgsConstructor
+public class AddDailyQuotesBatch {
+    public static final int MAX_SIZE = 1000;
+
+    @NotEmpty(message = "Batch cannot be empty")
+    @Size(max = MAX_SIZE, message = "Batch cannot contain more than " + MAX_SIZE + " quotes")
+    private List<@NotNull @Valid AddDailyQuoteRequest> quotes;
+}
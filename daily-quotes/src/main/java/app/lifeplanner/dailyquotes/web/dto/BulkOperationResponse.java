@@ -0,0 +1,14 @@
+package app.lifeplanner.dailyquotes.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Result of a set-based operation over many quotes
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResponse {
+    // Number of quotes deleted or moved
+    private long affected;
+}
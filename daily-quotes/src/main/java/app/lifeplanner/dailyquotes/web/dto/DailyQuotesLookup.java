@@ -0,0 +1,21 @@
+package app.lifeplanner.dailyquotes.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+// Wraps the ids of a multi-get (query parameter or POST /lookup body) so both are validated the same way
+@Data
+@AllArgsConstructor
+public class DailyQuotesLookup {
+    public static final int MAX_SIZE = 1000;
+
+    @NotEmpty(message = "ids cannot be empty")
+    @Size(max = MAX_SIZE, message = "Cannot look up more than " + MAX_SIZE + " quotes at once")
+    private List<@NotNull UUID> ids;
+}
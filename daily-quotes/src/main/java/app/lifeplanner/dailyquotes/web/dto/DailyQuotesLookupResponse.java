@@ -0,0 +1,17 @@
+package app.lifeplanner.dailyquotes.web.dto;
+
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class DailyQuotesLookupResponse {
+    // Found quotes, in the order their ids were requested
+    private List<DailyQuoteView> items;
+    // Requested ids that have no quote
+    private List<UUID> missing;
+}
@@ -0,0 +1,15 @@
+package app.lifeplanner.dailyquotes.web.dto;
+
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DailyQuotesPageResponse {
+    private List<DailyQuoteView> items;
+    // Opaque cursor for the following page, null when this is the last page
+    private String next;
+}
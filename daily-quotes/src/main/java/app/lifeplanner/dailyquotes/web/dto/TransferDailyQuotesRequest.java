@@ -0,0 +1,18 @@
+package app.lifeplanner.dailyquotes.web.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferDailyQuotesRequest {
+    @NotNull(message = "toUserId cannot be null")
+    private UUID toUserId;
+}
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS daily_quote
+(
+    id          UUID         NOT NULL,
+    quote_image VARCHAR(255) NOT NULL,
+    user_id     UUID,
+    PRIMARY KEY (id)
+);
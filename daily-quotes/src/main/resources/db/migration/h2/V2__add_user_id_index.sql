@@ -0,0 +1 @@
+CREATE INDEX idx_daily_quote_user_id_id ON daily_quote (user_id, id);
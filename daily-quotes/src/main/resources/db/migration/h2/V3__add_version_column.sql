@@ -0,0 +1,2 @@
+-- Optimistic-locking version, exposed to clients as the quote's ETag
+ALTER TABLE daily_quote ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Quotes being handed to an owner on another shard, kept on the source shard until the move completes; rows left
+-- behind by a crash are undone by the shard rebalancer (unused without sharding)
+CREATE TABLE IF NOT EXISTS quote_handover
+(
+    id          UUID      NOT NULL,
+    to_user_id  UUID      NOT NULL,
+    recorded_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,8 @@
+-- Matches the table Hibernate created with ddl-auto=update, so existing databases are baselined at this version
+CREATE TABLE IF NOT EXISTS daily_quote
+(
+    id          BINARY(16)   NOT NULL,
+    quote_image VARCHAR(255) NOT NULL,
+    user_id     BINARY(16),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,2 @@
+-- Serves findByUserId and the keyset-paginated (user_id, id > ?) ORDER BY id queries
+CREATE INDEX idx_daily_quote_user_id_id ON daily_quote (user_id, id);
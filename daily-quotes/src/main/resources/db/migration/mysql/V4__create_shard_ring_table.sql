@@ -0,0 +1,7 @@
+-- The shard ring in use, written by rebalances on the first shard and read at startup (unused without sharding)
+CREATE TABLE IF NOT EXISTS shard_ring
+(
+    id     INT           NOT NULL,
+    shards VARCHAR(1000) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
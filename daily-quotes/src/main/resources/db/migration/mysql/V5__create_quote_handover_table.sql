@@ -0,0 +1,9 @@
+-- Quotes being handed to an owner on another shard, kept on the source shard until the move completes; rows left
+-- behind by a crash are undone by the shard rebalancer (unused without sharding)
+CREATE TABLE IF NOT EXISTS quote_handover
+(
+    id          BINARY(16)   NOT NULL,
+    to_user_id  BINARY(16)   NOT NULL,
+    recorded_at TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,86 @@
+package app.lifeplanner.dailyquotes.benchmark;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteRepository;
+import app.lifeplanner.dailyquotes.service.DailyQuoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Pbenchmark -Dtest=DailyQuoteBatchInsertBenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@ActiveProfiles("test")
+public class DailyQuoteBatchInsertBenchmark {
+
+    private static final int ROWS = 5_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private DailyQuoteService dailyQuoteService;
+
+    @Autowired
+    private DailyQuoteRepository dailyQuoteRepository;
+
+    @BeforeEach
+    void cleanTable() {
+        dailyQuoteRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareSingleInsertsWithBatchedInserts() {
+        // Warm up both paths so the comparison is not dominated by class loading and JIT
+        insertOneByOne(500);
+        insertInBatches(500);
+        dailyQuoteRepository.deleteAllInBatch();
+
+        long singleNanos = insertOneByOne(ROWS);
+        long batchNanos = insertInBatches(ROWS);
+
+        assertEquals(ROWS * 2L, dailyQuoteRepository.count());
+        System.out.printf("single-insert path: %,.0f rows/sec%n", rowsPerSecond(singleNanos));
+        System.out.printf("batch path (%d per request): %,.0f rows/sec%n", BATCH_SIZE, rowsPerSecond(batchNanos));
+    }
+
+    private long insertOneByOne(int rows) {
+        UUID userId = UUID.randomUUID();
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            dailyQuoteService.addDailyQuote(quote(userId, i));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long insertInBatches(int rows) {
+        UUID userId = UUID.randomUUID();
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += BATCH_SIZE) {
+            List<DailyQuote> batch = IntStream.range(offset, Math.min(offset + BATCH_SIZE, rows))
+                    .mapToObj(i -> quote(userId, i))
+                    .toList();
+            dailyQuoteService.addDailyQuotes(batch);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static DailyQuote quote(UUID userId, int i) {
+        return DailyQuote.builder().quoteImage("quote-" + i + ".png").userId(userId).build();
+    }
+
+    private static double rowsPerSecond(long nanos) {
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+}
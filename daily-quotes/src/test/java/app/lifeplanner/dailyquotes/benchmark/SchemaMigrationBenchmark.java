@@ -0,0 +1,116 @@
+package app.lifeplanner.dailyquotes.benchmark;
+
+import app.lifeplanner.dailyquotes.DailyQuotesApplication;
+import app.lifeplanner.dailyquotes.model.UuidV7Generator;
+import app.lifeplanner.dailyquotes.repository.JdbcUuids;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Compares the old ddl-auto=update startup (no user_id index) with Flyway migrations + validate
+// on a large seeded H2 file database. Run with: mvn test -Pbenchmark -Dtest=SchemaMigrationBenchmark
+@Tag("benchmark")
+public class SchemaMigrationBenchmark {
+
+    private static final int USERS = 5_000;
+    private static final int QUOTES_PER_USER = 100;
+    private static final int LOOKUPS = 200;
+
+    @Test
+    void compareDdlAutoUpdateWithMigrations() throws Exception {
+        Path dir = Files.createDirectories(Path.of("target", "schema-benchmark"));
+
+        Result ddlAuto = run(dir, "ddl-auto", "spring.jpa.hibernate.ddl-auto=update", "spring.flyway.enabled=false");
+        Result flyway = run(dir, "flyway", "spring.jpa.hibernate.ddl-auto=validate", "spring.flyway.enabled=true");
+
+        System.out.printf("ddl-auto=update: startup %d ms, findByUserId avg %.3f ms%n", ddlAuto.startupMillis(), ddlAuto.lookupMillis());
+        System.out.printf("flyway+validate: startup %d ms, findByUserId avg %.3f ms%n", flyway.startupMillis(), flyway.lookupMillis());
+    }
+
+    private Result run(Path dir, String name, String... schemaProperties) throws SQLException, IOException {
+        Files.deleteIfExists(dir.resolve(name + ".mv.db").toAbsolutePath());
+        String url = "jdbc:h2:file:" + dir.toAbsolutePath().resolve(name);
+
+        // First boot creates the schema, then the table is seeded outside the application
+        boot(url, schemaProperties).close();
+        List<UUID> users = seed(url);
+
+        long start = System.nanoTime();
+        boot(url, schemaProperties).close();
+        long startupMillis = (System.nanoTime() - start) / 1_000_000;
+
+        return new Result(startupMillis, averageLookupMillis(url, users));
+    }
+
+    private ConfigurableApplicationContext boot(String url, String... schemaProperties) {
+        // Passed as command-line arguments so they take precedence over application-test.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=INFO",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"));
+        for (String property : schemaProperties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(DailyQuotesApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+    }
+
+    private List<UUID> seed(String url) throws SQLException {
+        List<UUID> users = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO daily_quote (id, quote_image, user_id) VALUES (?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            for (int u = 0; u < USERS; u++) {
+                UUID userId = UUID.randomUUID();
+                users.add(userId);
+                for (int q = 0; q < QUOTES_PER_USER; q++) {
+                    insert.setBytes(1, JdbcUuids.toBytes(UuidV7Generator.next()));
+                    insert.setString(2, "https://cdn.example.com/quotes/" + u + "-" + q + ".png");
+                    insert.setBytes(3, JdbcUuids.toBytes(userId));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+        }
+        return users;
+    }
+
+    private double averageLookupMillis(String url, List<UUID> users) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, quote_image, user_id FROM daily_quote WHERE user_id = ?")) {
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                select.setBytes(1, JdbcUuids.toBytes(users.get(i % users.size())));
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getBytes(1);
+                    }
+                }
+            }
+            return (System.nanoTime() - start) / 1_000_000.0 / LOOKUPS;
+        }
+    }
+
+    private record Result(long startupMillis, double lookupMillis) {
+    }
+}
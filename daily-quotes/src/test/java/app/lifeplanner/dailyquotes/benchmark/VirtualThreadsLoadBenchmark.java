@@ -0,0 +1,182 @@
+package app.lifeplanner.dailyquotes.benchmark;
+
+import app.lifeplanner.dailyquotes.DailyQuotesApplication;
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteRepository;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compares Tomcat's platform-thread pool with virtual-thread mode under high concurrency on the
+// uncached page endpoint. Every query sleeps for DB_LATENCY_MILLIS while holding its pooled connection
+// to stand in for the MySQL round-trip, and both modes get the same pool so only the threading differs.
+// Run with: mvn test -Pbenchmark -Dtest=VirtualThreadsLoadBenchmark
+@Tag("benchmark")
+public class VirtualThreadsLoadBenchmark {
+
+    private static final int USERS = 200;
+    private static final int QUOTES_PER_USER = 20;
+    private static final int CONCURRENCY = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int POOL_SIZE = 400;
+    private static final long DB_LATENCY_MILLIS = 5;
+
+    @Test
+    void comparePlatformThreadsWithVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("platform threads: %,.0f req/s, p50 %.1f ms, p99 %.1f ms, pinned events %d%n",
+                platform.throughput(), platform.p50Millis(), platform.p99Millis(), platform.pinnedEvents());
+        System.out.printf("virtual threads:  %,.0f req/s, p50 %.1f ms, p99 %.1f ms, pinned events %d%n",
+                virtual.throughput(), virtual.p50Millis(), virtual.p99Millis(), virtual.pinnedEvents());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = boot(virtualThreads);
+             RecordingStream pinned = new RecordingStream()) {
+            List<UUID> users = seed(context);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/v1/daily-quotes/user/";
+
+            AtomicLong pinnedEvents = new AtomicLong();
+            pinned.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1));
+            pinned.onEvent("jdk.VirtualThreadPinned", event -> pinnedEvents.incrementAndGet());
+            pinned.startAsync();
+
+            // Warm-up round so both modes are measured with a hot JIT and a full connection pool
+            load(baseUrl, users);
+            long start = System.nanoTime();
+            long[] latencies = load(baseUrl, users);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            Arrays.sort(latencies);
+            return new Result(latencies.length / seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), pinnedEvents.get());
+        }
+    }
+
+    private ConfigurableApplicationContext boot(boolean virtualThreads) {
+        List<String> profiles = new ArrayList<>(List.of("test"));
+        if (virtualThreads) {
+            profiles.add("virtual-threads");
+        }
+        // Passed as command-line arguments so they take precedence over the profile files
+        return new SpringApplicationBuilder(DailyQuotesApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource ? withLatency(dataSource) : bean;
+                    }
+                }))
+                .run("--server.port=0",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.hibernate.SQL=INFO",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+                        "--logging.level.org.springframework.security=INFO");
+    }
+
+    private List<UUID> seed(ConfigurableApplicationContext context) {
+        DailyQuoteRepository repository = context.getBean(DailyQuoteRepository.class);
+        List<UUID> users = IntStream.range(0, USERS).mapToObj(i -> UUID.randomUUID()).toList();
+        List<DailyQuote> quotes = new ArrayList<>();
+        for (UUID userId : users) {
+            for (int i = 0; i < QUOTES_PER_USER; i++) {
+                quotes.add(DailyQuote.builder().userId(userId).quoteImage("quote-" + i + ".png").build());
+            }
+        }
+        repository.saveAll(quotes);
+        return users;
+    }
+
+    private long[] load(String baseUrl, List<UUID> users) throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int client = 0; client < CONCURRENCY; client++) {
+                UUID userId = users.get(client % users.size());
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + userId + "/page?limit=" + QUOTES_PER_USER)).build();
+                results.add(clients.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[i] = System.nanoTime() - start;
+                        assertEquals(200, response.statusCode());
+                    }
+                    return latencies;
+                }));
+            }
+
+            long[] all = new long[CONCURRENCY * REQUESTS_PER_CLIENT];
+            for (int client = 0; client < CONCURRENCY; client++) {
+                System.arraycopy(results.get(client).get(), 0, all, client * REQUESTS_PER_CLIENT, REQUESTS_PER_CLIENT);
+            }
+            return all;
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, long pinnedEvents) {
+    }
+
+    // Stands in for the network round-trip to MySQL, which H2 in memory does not have
+    private static DataSource withLatency(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return delayed(Connection.class, super.getConnection());
+            }
+        };
+    }
+
+    private static <T> T delayed(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                Thread.sleep(DB_LATENCY_MILLIS);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return result instanceof PreparedStatement statement ? delayed(PreparedStatement.class, statement) : result;
+        }));
+    }
+}
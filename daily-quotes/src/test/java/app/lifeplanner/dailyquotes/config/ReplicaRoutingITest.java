@@ -0,0 +1,108 @@
+package app.lifeplanner.dailyquotes.config;
+
+import app.lifeplanner.dailyquotes.repository.JdbcUuids;
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "replica"})
+public class ReplicaRoutingITest {
+
+    private static final String INSERT = "INSERT INTO daily_quote (id, quote_image, user_id, version) VALUES (?, ?, ?, 0)";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${daily-quotes.replica.datasource.jdbc-url}")
+    private String replicaUrl;
+
+    private JdbcTemplate replica;
+
+    // A real replica would get its schema from the primary
+    @BeforeEach
+    void migrateReplica() {
+        Flyway.configure().dataSource(replicaUrl, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        replica = new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "sa", ""));
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("daily_quotes.datasource.routed").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void givenQuoteWrittenBehindTheServiceBack_whenReadById_thenOnlyTheReplicaCopyIsSeen() throws Exception {
+        UUID id = UUID.randomUUID();
+        Object[] row = {JdbcUuids.toBytes(id), "on-primary.png", JdbcUuids.toBytes(UUID.randomUUID())};
+        // Autocommit statements go to the primary
+        new JdbcTemplate(dataSource).update(INSERT, row);
+        double replicaReads = routed("replica", "read_only");
+
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", id)).andExpect(status().isNotFound());
+        replica.update(INSERT, row);
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quoteImage").value("on-primary.png"));
+
+        assertEquals(replicaReads + 2, routed("replica", "read_only"));
+    }
+
+    @Test
+    void givenOwnWrite_whenReadWithinTheWindow_thenReadFromThePrimary() throws Exception {
+        UUID userId = UUID.randomUUID();
+        AddDailyQuoteRequest request = AddDailyQuoteRequest.builder().quoteImage("mine.png").userId(userId).build();
+        String body = mockMvc.perform(post("/api/v1/daily-quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        UUID id = objectMapper.readValue(body, AddDailyQuoteRequest.class).getId();
+        double primaryReads = routed("primary", "read_your_writes");
+
+        // The replica never sees the row, yet the writer reads it back
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId)).andExpect(jsonPath("$", hasSize(1)));
+
+        assertEquals(primaryReads + 2, routed("primary", "read_your_writes"));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM daily_quote WHERE id = ?", Integer.class, (Object) JdbcUuids.toBytes(id)));
+    }
+
+    @Test
+    void givenBothPools_whenUsed_thenHikariMetricsAreTaggedPerPool() throws Exception {
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", UUID.randomUUID())).andExpect(status().isNotFound());
+
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "replica").gauge());
+    }
+}
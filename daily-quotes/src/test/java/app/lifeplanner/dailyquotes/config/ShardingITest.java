@@ -0,0 +1,374 @@
+package app.lifeplanner.dailyquotes.config;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.ShardSlots;
+import app.lifeplanner.dailyquotes.repository.JdbcUuids;
+import app.lifeplanner.dailyquotes.repository.ShardMoveRepository;
+import app.lifeplanner.dailyquotes.service.DailyQuoteExportService;
+import app.lifeplanner.dailyquotes.service.DailyQuoteService;
+import app.lifeplanner.dailyquotes.service.QuoteShards;
+import app.lifeplanner.dailyquotes.service.ShardRebalancer;
+import app.lifeplanner.dailyquotes.service.ShardRing;
+import app.lifeplanner.dailyquotes.web.SqlStatementFilter;
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.web.dto.EditDailyQuotesRequest;
+import app.lifeplanner.dailyquotes.web.dto.TransferDailyQuotesRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "sharding"})
+public class ShardingITest {
+
+    private static final List<String> SHARDS = List.of("shard-0", "shard-1", "shard-2");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DailyQuoteService dailyQuoteService;
+
+    @Autowired
+    private DailyQuoteExportService dailyQuoteExportService;
+
+    @Autowired
+    private QuoteShards quoteShards;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Real calls; a test can hook into the rebalancer's copies
+    @MockitoSpyBean
+    private ShardMoveRepository shardMoveRepository;
+
+    @Value("${daily-quotes.sharding.datasource.shard-0.jdbc-url}")
+    private String shard0Url;
+
+    @Value("${daily-quotes.sharding.datasource.shard-1.jdbc-url}")
+    private String shard1Url;
+
+    @Value("${daily-quotes.sharding.datasource.shard-2.jdbc-url}")
+    private String shard2Url;
+
+    // Straight to one shard's database, bypassing the service
+    private JdbcTemplate shardDatabase(String shard) {
+        String url = List.of(shard0Url, shard1Url, shard2Url).get(SHARDS.indexOf(shard));
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+    // Shards that hold a row with the id, read straight from each database
+    private List<String> shardsHolding(UUID id) {
+        List<String> holding = new ArrayList<>();
+        for (String shard : SHARDS) {
+            Integer rows = shardDatabase(shard).queryForObject("SELECT COUNT(*) FROM daily_quote WHERE id = ?", Integer.class, (Object) JdbcUuids.toBytes(id));
+            if (rows != null && rows > 0) {
+                holding.add(shard);
+            }
+        }
+        return holding;
+    }
+
+    private void assertOnlyOnOwningShard(UUID id) {
+        assertEquals(List.of(quoteShards.getRing().shardOf(ShardSlots.ofQuote(id))), shardsHolding(id));
+    }
+
+    private void assertOnlyOnOwnersShard(UUID id, UUID userId) {
+        assertEquals(List.of(quoteShards.getRing().shardOf(ShardSlots.ofUser(userId))), shardsHolding(id));
+    }
+
+    // A quote stored before sharding was enabled: a random v4 id, on its owner's shard
+    private UUID addLegacyQuote(UUID userId, String quoteImage) {
+        UUID id = UUID.randomUUID();
+        shardDatabase(quoteShards.getRing().shardOf(ShardSlots.ofUser(userId))).update(
+                "INSERT INTO daily_quote (id, quote_image, user_id, version) VALUES (?, ?, ?, 0)",
+                JdbcUuids.toBytes(id), quoteImage, JdbcUuids.toBytes(userId));
+        return id;
+    }
+
+    private String storedRing() {
+        return shardDatabase("shard-0").queryForObject("SELECT shards FROM shard_ring WHERE id = 1", String.class);
+    }
+
+    private List<DailyQuote> addQuotesOfNewUsers(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> dailyQuoteService.addDailyQuote(DailyQuote.builder().quoteImage("q" + i + ".png").userId(UUID.randomUUID()).build()))
+                .toList();
+    }
+
+    @Test
+    void givenBatchOfManyUsers_whenPosted_thenEachQuoteLivesOnItsOwnersShardAndReadsHitOneShard() throws Exception {
+        // Given
+        List<AddDailyQuoteRequest> requests = IntStream.range(0, 30)
+                .mapToObj(i -> AddDailyQuoteRequest.builder().quoteImage("batch-" + i + ".png").userId(UUID.randomUUID()).build())
+                .toList();
+
+        // When
+        String body = mockMvc.perform(post("/api/v1/daily-quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        List<AddDailyQuoteRequest> saved = objectMapper.readValue(body, new TypeReference<>() {
+        });
+
+        // Then: answered in request order, every id carries its owner's slot and sits on that slot's shard only
+        assertEquals(requests.size(), saved.size());
+        for (int i = 0; i < requests.size(); i++) {
+            AddDailyQuoteRequest quote = saved.get(i);
+            assertEquals(requests.get(i).getQuoteImage(), quote.getQuoteImage());
+            assertEquals(ShardSlots.ofUser(quote.getUserId()), ShardSlots.ofQuote(quote.getId()));
+            assertOnlyOnOwningShard(quote.getId());
+        }
+
+        AddDailyQuoteRequest first = saved.get(0);
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.STATEMENTS_HEADER, "1"))
+                .andExpect(jsonPath("$.quoteImage").value("batch-0.png"));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", first.getUserId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.STATEMENTS_HEADER, "1"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        // A multi-get spans both shards, one query each
+        cacheManager.getCache(CacheConfig.QUOTES_BY_ID).clear();
+        mockMvc.perform(post("/api/v1/daily-quotes/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(saved.stream().map(AddDailyQuoteRequest::getId).toList())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.STATEMENTS_HEADER, "2"))
+                .andExpect(jsonPath("$.items", hasSize(saved.size())))
+                .andExpect(jsonPath("$.missing", hasSize(0)));
+    }
+
+    @Test
+    void givenNewShard_whenRebalancedOntoItAndBack_thenEveryQuoteStaysReadableFromItsOwningShard() throws Exception {
+        // Given
+        List<DailyQuote> quotes = addQuotesOfNewUsers(40);
+        List<DailyQuote> legacyQuotes = IntStream.range(0, 20)
+                .mapToObj(i -> {
+                    UUID userId = UUID.randomUUID();
+                    return DailyQuote.builder().id(addLegacyQuote(userId, "legacy-" + i + ".png")).userId(userId).build();
+                })
+                .toList();
+        ShardRing before = quoteShards.getRing();
+
+        // When
+        ShardRebalancer.Rebalance grown = shardRebalancer.rebalance(SHARDS);
+
+        // Then: some quotes moved to shard-2, nothing is duplicated or lost
+        assertEquals(SHARDS, grown.shards());
+        assertEquals("shard-0,shard-1,shard-2", storedRing());
+        assertTrue(grown.movedQuotes() > 0);
+        assertTrue(quotes.stream().anyMatch(quote -> !before.shardOf(ShardSlots.ofQuote(quote.getId()))
+                .equals(quoteShards.getRing().shardOf(ShardSlots.ofQuote(quote.getId())))));
+        mockMvc.perform(get("/actuator/shards"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['shard-2']").isNumber());
+        cacheManager.getCache(CacheConfig.QUOTES_BY_ID).clear();
+        for (DailyQuote quote : quotes) {
+            assertOnlyOnOwningShard(quote.getId());
+            assertEquals(quote.getQuoteImage(), dailyQuoteService.getQuoteById(quote.getId()).orElseThrow().quoteImage());
+            assertEquals(1, dailyQuoteService.getQuotesPageByUserId(quote.getUserId(), null, 10).size());
+        }
+        for (DailyQuote legacy : legacyQuotes) {
+            assertOnlyOnOwnersShard(legacy.getId(), legacy.getUserId());
+            assertTrue(dailyQuoteService.getQuoteById(legacy.getId()).isPresent());
+        }
+
+        // When: shrinking back empties shard-2
+        ShardRebalancer.Rebalance shrunk = shardRebalancer.rebalance(SHARDS.subList(0, 2));
+
+        // Then
+        assertEquals(grown.movedSlots(), shrunk.movedSlots());
+        assertEquals("shard-0,shard-1", storedRing());
+        cacheManager.getCache(CacheConfig.QUOTES_BY_ID).clear();
+        for (DailyQuote quote : quotes) {
+            assertOnlyOnOwningShard(quote.getId());
+            assertNotEquals("shard-2", shardsHolding(quote.getId()).get(0));
+            assertTrue(dailyQuoteService.getQuoteById(quote.getId()).isPresent());
+        }
+        for (DailyQuote legacy : legacyQuotes) {
+            assertOnlyOnOwnersShard(legacy.getId(), legacy.getUserId());
+        }
+        Set<UUID> exported = new HashSet<>();
+        dailyQuoteExportService.exportQuotes(null, quote -> exported.add(quote.getId()));
+        assertTrue(exported.containsAll(quotes.stream().map(DailyQuote::getId).toList()));
+    }
+
+    @Test
+    void givenQuoteTransferredOutOfAMovingSlotDuringTheCopy_whenRebalanced_thenItsStaleCopyIsRemoved() throws Exception {
+        // Given: A's slot moves to shard-2, B's slot stays on A's current shard
+        ShardRing before = quoteShards.getRing();
+        ShardRing grown = new ShardRing(SHARDS);
+        UUID fromUser;
+        do {
+            fromUser = UUID.randomUUID();
+        } while (before.shardOf(ShardSlots.ofUser(fromUser)).equals(grown.shardOf(ShardSlots.ofUser(fromUser))));
+        String oldShard = before.shardOf(ShardSlots.ofUser(fromUser));
+        UUID toUser;
+        do {
+            toUser = UUID.randomUUID();
+        } while (!before.shardOf(ShardSlots.ofUser(toUser)).equals(oldShard) || !grown.shardOf(ShardSlots.ofUser(toUser)).equals(oldShard));
+        UUID from = fromUser;
+        UUID to = toUser;
+        DailyQuote quote = dailyQuoteService.addDailyQuote(DailyQuote.builder().quoteImage("a.png").userId(from).build());
+        AtomicBoolean transferred = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Object written = invocation.callRealMethod();
+            List<DailyQuote> copies = invocation.getArgument(0);
+            if (copies.stream().anyMatch(copy -> copy.getId().equals(quote.getId())) && transferred.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> dailyQuoteService.transferQuotes(from, to)).join();
+            }
+            return written;
+        }).when(shardMoveRepository).upsert(anyList());
+
+        // When: the transfer runs between the first copy and the freeze
+        try {
+            shardRebalancer.rebalance(SHARDS);
+
+            // Then
+            assertTrue(transferred.get());
+            assertEquals(List.of(oldShard), shardsHolding(quote.getId()));
+            cacheManager.getCache(CacheConfig.QUOTES_BY_ID).clear();
+            cacheManager.getCache(CacheConfig.QUOTES_BY_USER).clear();
+            mockMvc.perform(get("/api/v1/daily-quotes/{id}", quote.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.userId").value(to.toString()));
+            mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", from))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(0)));
+        } finally {
+            shardRebalancer.rebalance(SHARDS.subList(0, 2));
+        }
+    }
+
+    @Test
+    void givenQuoteIdMintedBeforeSharding_whenReadUpdatedAndDeletedById_thenItsOwnersShardIsFound() throws Exception {
+        // Given: the bits of a v4 id say nothing about the shard
+        UUID userId = UUID.randomUUID();
+        UUID legacyId = addLegacyQuote(userId, "legacy.png");
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", legacyId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quoteImage").value("legacy.png"));
+        cacheManager.getCache(CacheConfig.QUOTES_BY_ID).clear();
+        mockMvc.perform(post("/api/v1/daily-quotes/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(legacyId, UUID.randomUUID()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.missing", hasSize(1)));
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", legacyId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(EditDailyQuotesRequest.builder().quoteImage("edited.png").build())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quoteImage").value("edited.png"));
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", legacyId).header("If-Match", "\"1\""))
+                .andExpect(status().isNoContent());
+        assertEquals(List.of(), shardsHolding(legacyId));
+    }
+
+    @Test
+    void givenUserOnAnotherShard_whenQuotesChangeHands_thenTheyMoveToTheNewOwnersShard() throws Exception {
+        // Given
+        UUID fromUser = UUID.randomUUID();
+        UUID toUser;
+        do {
+            toUser = UUID.randomUUID();
+        } while (quoteShards.getRing().shardOf(ShardSlots.ofUser(toUser)).equals(quoteShards.getRing().shardOf(ShardSlots.ofUser(fromUser))));
+        DailyQuote handedOver = dailyQuoteService.addDailyQuote(DailyQuote.builder().quoteImage("a.png").userId(fromUser).build());
+        DailyQuote transferred = dailyQuoteService.addDailyQuote(DailyQuote.builder().quoteImage("b.png").userId(fromUser).build());
+        UUID legacyId = addLegacyQuote(fromUser, "legacy.png");
+        EditDailyQuotesRequest edit = EditDailyQuotesRequest.builder().quoteImage("moved.png").userId(toUser).build();
+
+        // When
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", handedOver.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(edit)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+        mockMvc.perform(post("/api/v1/daily-quotes/user/{userId}/transfer", fromUser)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferDailyQuotesRequest(toUser))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        // Then
+        for (UUID id : List.of(handedOver.getId(), transferred.getId(), legacyId)) {
+            assertOnlyOnOwnersShard(id, toUser);
+        }
+        for (String shard : SHARDS) {
+            assertEquals(0, shardDatabase(shard).queryForObject("SELECT COUNT(*) FROM quote_handover", Integer.class));
+        }
+        cacheManager.getCache(CacheConfig.QUOTES_BY_ID).clear();
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", handedOver.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(toUser.toString()))
+                .andExpect(jsonPath("$.quoteImage").value("moved.png"));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", toUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", fromUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        cacheManager.getCache(CacheConfig.QUOTES_BY_ID).clear();
+        assertEquals(3, dailyQuoteService.getQuotesByIds(List.of(handedOver.getId(), transferred.getId(), legacyId)).size());
+
+        cacheManager.getCache(CacheConfig.QUOTES_BY_ID).clear();
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", transferred.getId())
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(EditDailyQuotesRequest.builder().quoteImage("edited.png").build())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+        cacheManager.getCache(CacheConfig.QUOTES_BY_ID).clear();
+        cacheManager.getCache(CacheConfig.QUOTES_BY_USER).clear();
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", handedOver.getId()).header("If-Match", "\"1\""))
+                .andExpect(status().isNoContent());
+        assertEquals(List.of(), shardsHolding(handedOver.getId()));
+    }
+}
@@ -0,0 +1,42 @@
+package app.lifeplanner.dailyquotes.config;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "virtual-threads"})
+public class VirtualThreadsITest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    @Qualifier(SchedulingConfig.QUOTE_OF_THE_DAY_EXECUTOR)
+    private Executor quoteOfTheDayExecutor;
+
+    @Test
+    void givenVirtualThreadsProfile_whenStarted_thenTomcatHandlesRequestsOnVirtualThreads() {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+
+        assertInstanceOf(VirtualThreadExecutor.class,
+                webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+    }
+
+    @Test
+    void givenVirtualThreadsProfile_whenQuoteOfTheDayTaskRuns_thenItRunsOnAVirtualThread() {
+        boolean virtual = CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), quoteOfTheDayExecutor).join();
+
+        assertTrue(virtual);
+    }
+}
@@ -0,0 +1,72 @@
+package app.lifeplanner.dailyquotes.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidV7GeneratorUTest {
+
+    @Test
+    void whenNext_thenVersionAndVariantAreSet() {
+        // When
+        UUID uuid = UuidV7Generator.next();
+
+        // Then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void whenNext_thenTimestampIsCurrentTime() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID uuid = UuidV7Generator.next();
+
+        // Then
+        long timestamp = UuidV7Generator.timestampMillis(uuid);
+        assertTrue(timestamp >= before, "Timestamp should not be earlier than the call");
+        assertTrue(timestamp <= System.currentTimeMillis() + 1, "Timestamp should not be in the future");
+    }
+
+    @Test
+    void givenManyIdsInTheSameMillisecond_whenNext_thenIdsAreUniqueAndStrictlyIncreasing() {
+        // When
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        // Then
+        Set<UUID> unique = new HashSet<>(ids);
+        assertEquals(ids.size(), unique.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(), ids.get(i).getMostSignificantBits()) < 0,
+                    "Ids should be ordered by their time/sequence prefix");
+        }
+    }
+
+    @Test
+    void givenOwner_whenForOwner_thenIdCarriesTheOwnersSlotAndStaysV7() {
+        // Given
+        UUID userId = UUID.randomUUID();
+
+        // When
+        UUID first = UuidV7Generator.forOwner(userId);
+        UUID second = UuidV7Generator.forOwner(userId);
+
+        // Then
+        assertEquals(ShardSlots.ofUser(userId), ShardSlots.ofQuote(first));
+        assertEquals(ShardSlots.ofUser(userId), ShardSlots.ofQuote(second));
+        assertNotEquals(first, second);
+        assertEquals(7, first.version());
+        assertEquals(2, first.variant());
+    }
+}
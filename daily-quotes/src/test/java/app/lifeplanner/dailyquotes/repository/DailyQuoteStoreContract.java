@@ -0,0 +1,202 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every DailyQuoteStore backend must share; JpaDailyQuoteStoreITest and JdbcDailyQuoteStoreITest
+// run it against the JPA repository and the JDBC store respectively
+@SpringBootTest
+@ActiveProfiles("test")
+abstract class DailyQuoteStoreContract {
+
+    // Databases order UUID / BINARY(16) columns by unsigned bytes, unlike UUID.compareTo
+    private static final Comparator<UUID> BYTE_ORDER = Comparator
+            .<UUID>comparingLong(uuid -> uuid.getMostSignificantBits() ^ Long.MIN_VALUE)
+            .thenComparingLong(uuid -> uuid.getLeastSignificantBits() ^ Long.MIN_VALUE);
+
+    @Autowired
+    protected DailyQuoteStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void emptyTable() {
+        jdbcTemplate.update("DELETE FROM daily_quote");
+    }
+
+    private DailyQuote save(UUID userId, String quoteImage) {
+        return store.save(DailyQuote.builder().userId(userId).quoteImage(quoteImage).build());
+    }
+
+    @Test
+    void givenNewQuote_whenSave_thenIdAndVersionAreAssigned() {
+        UUID userId = UUID.randomUUID();
+
+        DailyQuote saved = save(userId, "a.png");
+
+        assertNotNull(saved.getId());
+        assertEquals(0L, saved.getVersion());
+        DailyQuote found = store.findById(saved.getId()).orElseThrow();
+        assertEquals("a.png", found.getQuoteImage());
+        assertEquals(userId, found.getUserId());
+        assertEquals(0L, found.getVersion());
+    }
+
+    @Test
+    void givenNewQuotes_whenSaveAll_thenAllAreStoredForTheUser() {
+        UUID userId = UUID.randomUUID();
+        List<DailyQuote> quotes = List.of(
+                DailyQuote.builder().userId(userId).quoteImage("a.png").build(),
+                DailyQuote.builder().userId(userId).quoteImage("b.png").build());
+
+        List<DailyQuote> saved = store.saveAll(quotes);
+
+        assertEquals(2, saved.size());
+        assertTrue(saved.stream().allMatch(quote -> quote.getId() != null));
+        assertEquals(Set.of("a.png", "b.png"),
+                store.findByUserId(userId).stream().map(DailyQuote::getQuoteImage).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void givenStoredAndMissingIds_whenExistsAndFindOwner_thenOnlyStoredOnesAreFound() {
+        UUID userId = UUID.randomUUID();
+        DailyQuote saved = save(userId, "a.png");
+        UUID missing = UUID.randomUUID();
+
+        assertTrue(store.existsById(saved.getId()));
+        assertFalse(store.existsById(missing));
+        assertEquals(userId, store.findOwnerById(saved.getId()).orElseThrow().getUserId());
+        assertTrue(store.findOwnerById(missing).isEmpty());
+        assertTrue(store.findById(missing).isEmpty());
+    }
+
+    @Test
+    void givenManyQuotes_whenPagingByKeyset_thenPagesFollowIdOrder() {
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            save(userId, i + ".png");
+        }
+        save(UUID.randomUUID(), "other-user.png");
+
+        List<DailyQuoteView> first = store.findViewsByUserIdOrderByIdAsc(userId, Limit.of(3));
+        List<DailyQuoteView> second = store.findViewsByUserIdAndIdGreaterThanOrderByIdAsc(userId, first.get(2).id(), Limit.of(3));
+
+        assertEquals(3, first.size());
+        assertEquals(2, second.size());
+        List<UUID> ids = store.findByUserId(userId).stream().map(DailyQuote::getId).sorted(BYTE_ORDER).toList();
+        assertEquals(ids, List.of(first.get(0).id(), first.get(1).id(), first.get(2).id(),
+                second.get(0).id(), second.get(1).id()));
+    }
+
+    @Test
+    void givenManyQuotes_whenFindViewsByUserId_thenViewsFollowIdOrder() {
+        // Random (v4) ids, so insertion order is not id order
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO daily_quote (id, quote_image, user_id, version) VALUES (?, ?, ?, 0)",
+                    JdbcUuids.toBytes(UUID.randomUUID()), i + ".png", JdbcUuids.toBytes(userId));
+        }
+
+        List<UUID> ids = store.findViewsByUserId(userId).stream().map(DailyQuoteView::id).toList();
+
+        assertEquals(ids.stream().sorted(BYTE_ORDER).toList(), ids);
+    }
+
+    @Test
+    void givenStoredQuote_whenFindViews_thenViewsCarryTheStoredRow() {
+        UUID userId = UUID.randomUUID();
+        DailyQuote saved = save(userId, "a.png");
+        store.updateIfOwnedBy(saved.getId(), "b.png", userId, null);
+        DailyQuoteView expected = new DailyQuoteView(saved.getId(), "b.png", userId, 1L);
+
+        assertEquals(expected, store.findViewById(saved.getId()).orElseThrow());
+        assertEquals(List.of(expected), store.findViewsByUserId(userId));
+        assertTrue(store.findViewById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void givenStoredAndMissingIds_whenFindViewsByIdIn_thenOnlyStoredQuotesAreReturned() {
+        DailyQuote first = save(UUID.randomUUID(), "a.png");
+        DailyQuote second = save(UUID.randomUUID(), "b.png");
+        save(UUID.randomUUID(), "not-requested.png");
+
+        List<DailyQuoteView> views = store.findViewsByIdIn(List.of(first.getId(), UUID.randomUUID(), second.getId()));
+
+        assertEquals(Set.of(first.getId(), second.getId()), views.stream().map(DailyQuoteView::id).collect(Collectors.toSet()));
+        assertTrue(store.findViewsByIdIn(List.of()).isEmpty());
+    }
+
+    @Test
+    void givenSeveralUsers_whenFindUserIdsInChunks_thenEveryOwnerOnceInOrder() {
+        List<UUID> users = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (UUID userId : users) {
+            save(userId, "a.png");
+            save(userId, "b.png");
+        }
+        save(null, "no-owner.png");
+
+        List<UUID> first = store.findUserIds(Limit.of(2));
+        List<UUID> rest = store.findUserIdsAfter(first.get(1), Limit.of(2));
+
+        List<UUID> expected = users.stream().sorted(BYTE_ORDER).toList();
+        assertEquals(expected.subList(0, 2), first);
+        assertEquals(expected.subList(2, 3), rest);
+        assertEquals(6, store.findByUserIdIn(users).size());
+        assertTrue(store.findByUserIdIn(List.of()).isEmpty());
+    }
+
+    @Test
+    void givenOwnerAndVersion_whenUpdateIfOwnedBy_thenOnlyMatchingWritesApply() {
+        UUID userId = UUID.randomUUID();
+        UUID id = save(userId, "a.png").getId();
+
+        assertEquals(0, store.updateIfOwnedBy(id, "wrong-owner.png", UUID.randomUUID(), null));
+        assertEquals(0, store.updateIfOwnedBy(id, "stale.png", userId, 7L));
+        assertEquals(1, store.updateIfOwnedBy(id, "b.png", userId, 0L));
+        assertEquals(1, store.updateIfOwnedBy(id, "c.png", userId, null));
+
+        DailyQuote found = store.findById(id).orElseThrow();
+        assertEquals("c.png", found.getQuoteImage());
+        assertEquals(2L, found.getVersion());
+    }
+
+    @Test
+    void givenVersion_whenUpdateIfVersion_thenQuoteMovesToTheNewOwner() {
+        UUID oldUserId = UUID.randomUUID();
+        UUID newUserId = UUID.randomUUID();
+        UUID id = save(oldUserId, "a.png").getId();
+
+        assertEquals(0, store.updateIfVersion(id, "b.png", newUserId, 1L));
+        assertEquals(1, store.updateIfVersion(id, "b.png", newUserId, 0L));
+
+        assertTrue(store.findByUserId(oldUserId).isEmpty());
+        assertEquals(1L, store.findByUserId(newUserId).get(0).getVersion());
+    }
+
+    @Test
+    void givenVersion_whenDeleteIfVersion_thenOnlyMatchingDeleteApplies() {
+        UUID id = save(UUID.randomUUID(), "a.png").getId();
+
+        assertEquals(0, store.deleteIfVersion(id, 3L));
+        assertTrue(store.existsById(id));
+        assertEquals(1, store.deleteIfVersion(id, 0L));
+        assertFalse(store.existsById(id));
+        assertEquals(0, store.deleteIfVersion(id, null));
+    }
+}
@@ -0,0 +1,15 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@TestPropertySource(properties = "daily-quotes.persistence.backend=jdbc")
+public class JdbcDailyQuoteStoreITest extends DailyQuoteStoreContract {
+
+    @Test
+    void givenJdbcBackend_thenStoreIsTheJdbcStore() {
+        assertInstanceOf(JdbcDailyQuoteStore.class, store);
+    }
+}
@@ -0,0 +1,13 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class JpaDailyQuoteStoreITest extends DailyQuoteStoreContract {
+
+    @Test
+    void givenDefaultBackend_thenStoreIsTheJpaRepository() {
+        assertInstanceOf(DailyQuoteRepository.class, store);
+    }
+}
@@ -0,0 +1,224 @@
+package app.lifeplanner.dailyquotes.repository;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteIngestLogUTest {
+
+    @TempDir
+    private Path directory;
+
+    private static DailyQuote quote(String image) {
+        return DailyQuote.builder().id(UUID.randomUUID()).quoteImage(image).userId(UUID.randomUUID()).version(0L).build();
+    }
+
+    private static List<DailyQuote> quotes(List<QuoteIngestLog.Entry> entries) {
+        return entries.stream().map(QuoteIngestLog.Entry::quote).toList();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    @Test
+    void givenConcurrentAppends_whenDurable_thenCallbackSeesLogOrderAndRestartRecoversAll() throws Exception {
+        List<QuoteIngestLog.Entry> durable = new CopyOnWriteArrayList<>();
+        QuoteIngestLog log = new QuoteIngestLog(directory, 1 << 20, durable::add);
+        assertTrue(log.recover().isEmpty());
+
+        List<CompletableFuture<QuoteIngestLog.Entry>> appends = IntStream.range(0, 200)
+                .parallel()
+                .mapToObj(i -> log.append(quote("quote-" + i + ".png")))
+                .toList();
+        CompletableFuture.allOf(appends.toArray(CompletableFuture[]::new)).join();
+        log.close();
+
+        assertEquals(200, durable.size());
+        for (int i = 1; i < durable.size(); i++) {
+            assertTrue(durable.get(i).endOffset() > durable.get(i - 1).endOffset(), "entries are reported in log order");
+        }
+        assertEquals(quotes(durable), quotes(new QuoteIngestLog(directory, 1 << 20, entry -> { }).recover()));
+    }
+
+    @Test
+    void givenGroupFailingMidWrite_whenLaterGroupsAreAppended_thenRestartRecoversThem() throws Exception {
+        AtomicBoolean failNextWrite = new AtomicBoolean();
+        QuoteIngestLog log = new QuoteIngestLog(directory, 1 << 20, entry -> { }, path -> new FailingChannel(
+                FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), failNextWrite));
+        log.recover();
+        DailyQuote first = quote("first.png");
+        DailyQuote failed = quote("failed.png");
+        DailyQuote later = quote("later.png");
+        log.append(first).join();
+
+        failNextWrite.set(true);
+        assertThrows(CompletionException.class, () -> log.append(failed).join());
+        log.append(later).join();
+        log.close();
+
+        List<QuoteIngestLog.Entry> recovered = new QuoteIngestLog(directory, 1 << 20, entry -> { }).recover();
+
+        assertEquals(List.of(first, later), quotes(recovered));
+    }
+
+    @Test
+    void givenTornRecordAtTheEnd_whenRecover_thenCompleteRecordsAreReturned() throws Exception {
+        QuoteIngestLog log = new QuoteIngestLog(directory, 1 << 20, entry -> { });
+        log.recover();
+        DailyQuote first = quote("first.png");
+        DailyQuote second = quote("second.png");
+        log.append(first).join();
+        log.append(second).join();
+        log.close();
+        // A crash in the middle of the next write leaves a length prefix without its payload
+        Files.write(segmentFiles().get(0), new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        List<QuoteIngestLog.Entry> recovered = new QuoteIngestLog(directory, 1 << 20, entry -> { }).recover();
+
+        assertEquals(List.of(first, second), quotes(recovered));
+    }
+
+    @Test
+    void givenCheckpoint_whenRecover_thenOnlyLaterRecordsAreReturnedAndOlderSegmentsAreDeleted() throws Exception {
+        // Tiny segments: every group of appends starts a new file
+        QuoteIngestLog log = new QuoteIngestLog(directory, 1, entry -> { });
+        log.recover();
+        QuoteIngestLog.Entry stored = log.append(quote("stored.png")).join();
+        log.append(quote("also-stored.png")).join();
+        QuoteIngestLog.Entry checkpointed = log.append(quote("checkpointed.png")).join();
+        DailyQuote pending = quote("pending.png");
+        log.append(pending).join();
+
+        log.checkpoint(checkpointed);
+        log.close();
+
+        assertFalse(Files.exists(directory.resolve(String.format("%020d.log", stored.segment()))));
+        assertEquals(List.of(pending), quotes(new QuoteIngestLog(directory, 1, entry -> { }).recover()));
+    }
+
+    // Writes half of a record and then fails, once armed
+    private static class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        private final AtomicBoolean failNextWrite;
+
+        FailingChannel(FileChannel delegate, AtomicBoolean failNextWrite) {
+            this.delegate = delegate;
+            this.failNextWrite = failNextWrite;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failNextWrite.compareAndSet(true, false)) {
+                delegate.write(src.slice(src.position(), src.remaining() / 2));
+                throw new IOException("Disk full");
+            }
+            return delegate.write(src);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
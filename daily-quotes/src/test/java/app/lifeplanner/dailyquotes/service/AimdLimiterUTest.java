@@ -0,0 +1,143 @@
+package app.lifeplanner.dailyquotes.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AimdLimiterUTest {
+
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private volatile long now;
+
+    private AimdLimiter limiter(int initialLimit, int maxLimit, double userShare) {
+        return new AimdLimiter("reads", initialLimit, maxLimit, Duration.ofMillis(250), userShare, meterRegistry, () -> now);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("daily_quotes.limiter.rejected").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void givenLimitInUse_whenTryAcquire_thenRejectedUntilAPermitIsReleased() {
+        AimdLimiter limiter = limiter(2, 2, 1.0);
+
+        assertTrue(limiter.tryAcquire(null));
+        assertTrue(limiter.tryAcquire(null));
+        assertFalse(limiter.tryAcquire(null));
+        assertEquals(1.0, rejected("limit"));
+
+        limiter.release(null, FAST, false);
+        assertTrue(limiter.tryAcquire(null));
+    }
+
+    @Test
+    void givenFastCallsAtTheLimit_whenReleased_thenLimitGrowsByOneUpToMax() {
+        AimdLimiter limiter = limiter(2, 3, 1.0);
+
+        limiter.tryAcquire(null);
+        limiter.tryAcquire(null);
+        limiter.release(null, FAST, false);
+        assertEquals(3, limiter.getLimit());
+
+        limiter.tryAcquire(null);
+        limiter.tryAcquire(null);
+        limiter.release(null, FAST, false);
+        assertEquals(3, limiter.getLimit(), "never above the maximum");
+    }
+
+    @Test
+    void givenMostlyIdleLimit_whenFastCallReleased_thenLimitStays() {
+        AimdLimiter limiter = limiter(10, 50, 1.0);
+
+        limiter.tryAcquire(null);
+        limiter.release(null, FAST, false);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void givenSlowOrOverloadedCall_whenReleased_thenLimitBacksOffButNeverBelowOne() {
+        AimdLimiter limiter = limiter(20, 50, 1.0);
+
+        limiter.tryAcquire(null);
+        now += SLOW;
+        limiter.release(null, SLOW, false);
+        assertEquals(18, limiter.getLimit());
+
+        limiter.tryAcquire(null);
+        now += FAST;
+        limiter.release(null, FAST, true);
+        assertEquals(16, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(null);
+            now += SLOW;
+            limiter.release(null, SLOW, false);
+        }
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    void givenManySlowCallsInFlightTogether_whenReleasedConcurrently_thenLimitIsCutOnce() throws Exception {
+        AimdLimiter limiter = limiter(20, 50, 1.0);
+        for (int i = 0; i < 16; i++) {
+            assertTrue(limiter.tryAcquire(null));
+        }
+        now += SLOW;
+
+        ExecutorService releasers = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> releases = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                releases.add(releasers.submit(() -> {
+                    start.await();
+                    limiter.release(null, SLOW, false);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> release : releases) {
+                release.get();
+            }
+        } finally {
+            releasers.shutdown();
+        }
+
+        assertEquals(18, limiter.getLimit());
+
+        // A call admitted after the cut is a new signal
+        limiter.tryAcquire(null);
+        now += SLOW;
+        limiter.release(null, SLOW, false);
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    void givenUserHoldingItsShare_whenTryAcquire_thenThatUserIsRejectedButOthersAreNot() {
+        AimdLimiter limiter = limiter(4, 4, 0.5);
+        UUID busyUser = UUID.randomUUID();
+
+        assertTrue(limiter.tryAcquire(busyUser));
+        assertTrue(limiter.tryAcquire(busyUser));
+        assertFalse(limiter.tryAcquire(busyUser));
+        assertTrue(limiter.tryAcquire(UUID.randomUUID()));
+        assertEquals(1.0, rejected("user_share"));
+
+        limiter.release(busyUser, FAST, false);
+        assertTrue(limiter.tryAcquire(busyUser));
+    }
+}
@@ -0,0 +1,113 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DailyQuoteServiceCacheITest {
+
+    @MockitoBean
+    private DailyQuoteStore dailyQuoteStore;
+
+    // Refreshes picks through the same repository; keep it out of the call counts
+    @MockitoBean
+    private QuoteOfTheDayService quoteOfTheDayService;
+
+    @Autowired
+    private DailyQuoteService dailyQuoteService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void givenRepeatedReads_whenGetQuotesByUserId_thenRepositoryIsHitOnce() {
+        UUID userId = UUID.randomUUID();
+        when(dailyQuoteStore.findViewsByUserId(userId)).thenReturn(List.of(new DailyQuoteView(UUID.randomUUID(), "a.png", userId, 0L)));
+
+        dailyQuoteService.getQuotesByUserId(userId);
+        dailyQuoteService.getQuotesByUserId(userId);
+
+        verify(dailyQuoteStore, times(1)).findViewsByUserId(userId);
+    }
+
+    @Test
+    void givenMissingQuote_whenGetQuoteById_thenMissIsNotCached() {
+        UUID quoteId = UUID.randomUUID();
+        when(dailyQuoteStore.findViewById(quoteId)).thenReturn(Optional.empty());
+
+        assertTrue(dailyQuoteService.getQuoteById(quoteId).isEmpty());
+        assertTrue(dailyQuoteService.getQuoteById(quoteId).isEmpty());
+
+        verify(dailyQuoteStore, times(2)).findViewById(quoteId);
+    }
+
+    @Test
+    void givenQuoteMovedToAnotherUser_whenUpdateDailyQuote_thenBothListsAreReloaded() {
+        UUID quoteId = UUID.randomUUID();
+        UUID oldUserId = UUID.randomUUID();
+        UUID newUserId = UUID.randomUUID();
+        DailyQuote existing = DailyQuote.builder().id(quoteId).userId(oldUserId).quoteImage("a.png").version(0L).build();
+        DailyQuote moved = DailyQuote.builder().id(quoteId).userId(newUserId).quoteImage("a.png").build();
+        when(dailyQuoteStore.findById(quoteId)).thenReturn(Optional.of(existing));
+        when(dailyQuoteStore.findViewById(quoteId)).thenReturn(Optional.of(new DailyQuoteView(quoteId, "a.png", oldUserId, 0L)));
+        when(dailyQuoteStore.findViewsByUserId(any(UUID.class))).thenReturn(List.of());
+        when(dailyQuoteStore.updateIfVersion(quoteId, "a.png", newUserId, 0L)).thenReturn(1);
+
+        dailyQuoteService.getQuoteById(quoteId);
+        dailyQuoteService.getQuotesByUserId(oldUserId);
+        dailyQuoteService.getQuotesByUserId(newUserId);
+
+        dailyQuoteService.updateDailyQuote(moved, null);
+
+        dailyQuoteService.getQuoteById(quoteId);
+        dailyQuoteService.getQuotesByUserId(oldUserId);
+        dailyQuoteService.getQuotesByUserId(newUserId);
+
+        verify(dailyQuoteStore, times(2)).findViewsByUserId(oldUserId);
+        verify(dailyQuoteStore, times(2)).findViewsByUserId(newUserId);
+        // one entity lookup inside updateDailyQuote; the reads before and after the eviction go through the view
+        verify(dailyQuoteStore, times(1)).findById(quoteId);
+        verify(dailyQuoteStore, times(2)).findViewById(quoteId);
+    }
+
+    @Test
+    void givenCachedQuote_whenDeleteDailyQuote_thenOwnerComesFromCache() {
+        UUID quoteId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        DailyQuoteView quote = new DailyQuoteView(quoteId, "a.png", userId, 0L);
+        when(dailyQuoteStore.findViewById(quoteId)).thenReturn(Optional.of(quote));
+        when(dailyQuoteStore.findViewsByUserId(userId)).thenReturn(List.of(quote));
+        when(dailyQuoteStore.deleteIfVersion(quoteId, null)).thenReturn(1);
+
+        dailyQuoteService.getQuoteById(quoteId);
+        dailyQuoteService.getQuotesByUserId(userId);
+
+        dailyQuoteService.deleteDailyQuote(quoteId, null);
+        dailyQuoteService.getQuotesByUserId(userId);
+
+        verify(dailyQuoteStore, never()).findOwnerById(quoteId);
+        verify(dailyQuoteStore, times(2)).findViewsByUserId(userId);
+    }
+}
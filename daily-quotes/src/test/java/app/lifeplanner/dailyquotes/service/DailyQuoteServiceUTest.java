@@ -1,105 +1,492 @@
 package app.lifeplanner.dailyquotes.service;
 
+import app.lifeplanner.dailyquotes.event.DailyQuotesChangedEvent;
 import app.lifeplanner.dailyquotes.exception.EntityNotFoundException;
+import app.lifeplanner.dailyquotes.exception.PreconditionFailedException;
+import app.lifeplanner.dailyquotes.exception.ServiceOverloadedException;
 import app.lifeplanner.dailyquotes.model.DailyQuote;
-import app.lifeplanner.dailyquotes.repository.DailyQuoteRepository;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteStore;
+import app.lifeplanner.dailyquotes.repository.QuoteBulkRepository;
+import app.lifeplanner.dailyquotes.repository.QuoteIngestRepository;
+import app.lifeplanner.dailyquotes.repository.ShardMoveRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class DailyQuoteServiceUTest {
 
     @Mock
-    private DailyQuoteRepository dailyQuoteRepository;
+    private DailyQuoteStore dailyQuoteStore;
+
+    @Mock
+    private QuoteIngestRepository quoteIngestRepository;
+
+    @Mock
+    private QuoteBulkRepository quoteBulkRepository;
+
+    @Mock
+    private ShardMoveRepository shardMoveRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private QuoteLoadShedder loadShedder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Replica routing off: reads run in place
+    @Spy
+    private RecentWrites recentWrites = new RecentWrites(false, Duration.ZERO);
+
+    // Sharding off: store calls run unrouted
+    @Spy
+    private QuoteShards quoteShards = new QuoteShards(false, List.of(), Duration.ofSeconds(1));
 
     @InjectMocks
     private DailyQuoteService dailyQuoteService;
 
+    // Permits are always granted unless a test says otherwise
+    @BeforeEach
+    void grantPermits() {
+        lenient().when(loadShedder.read(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(loadShedder.write(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
     @Test
     void givenDailyQuote_whenAddDailyQuote_thenReturnSavedQuote() {
         // Given
+        UUID userId = UUID.randomUUID();
         DailyQuote quote = new DailyQuote();
-        when(dailyQuoteRepository.save(quote)).thenReturn(quote);
+        quote.setUserId(userId);
+        when(dailyQuoteStore.save(quote)).thenReturn(quote);
+        when(cacheManager.getCache("quotesByUser")).thenReturn(cache);
 
         // When
         DailyQuote result = dailyQuoteService.addDailyQuote(quote);
 
         // Then
         assertSame(quote, result, "The returned quote should be the same instance as saved");
-        verify(dailyQuoteRepository, times(1)).save(quote);
+        verify(dailyQuoteStore, times(1)).save(quote);
+        verify(cache, times(1)).evict(userId);
+        verify(eventPublisher, times(1)).publishEvent(new DailyQuotesChangedEvent(userId));
+    }
+
+    @Test
+    void givenDailyQuotes_whenAddDailyQuotes_thenSaveAllAndEvictEachUserOnce() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<DailyQuote> quotes = List.of(
+                DailyQuote.builder().userId(userId).build(),
+                DailyQuote.builder().userId(userId).build());
+        when(dailyQuoteStore.saveAll(quotes)).thenReturn(quotes);
+        when(cacheManager.getCache("quotesByUser")).thenReturn(cache);
+
+        // When
+        List<DailyQuote> result = dailyQuoteService.addDailyQuotes(quotes);
+
+        // Then
+        assertEquals(quotes, result);
+        verify(dailyQuoteStore, times(1)).saveAll(quotes);
+        verify(transactionManager, times(1)).commit(any());
+        verify(cache, times(1)).evict(userId);
+    }
+
+    @Test
+    void givenAcceptedQuotesPartlyStoredBefore_whenAddAcceptedDailyQuotes_thenOnlyInsertedOwnersAreEvicted() {
+        // Given
+        UUID storedUser = UUID.randomUUID();
+        UUID newUser = UUID.randomUUID();
+        DailyQuote alreadyStored = DailyQuote.builder().id(UUID.randomUUID()).userId(storedUser).version(0L).build();
+        DailyQuote fresh = DailyQuote.builder().id(UUID.randomUUID()).userId(newUser).version(0L).build();
+        List<DailyQuote> accepted = List.of(alreadyStored, fresh);
+        when(quoteIngestRepository.insertAbsent(accepted)).thenReturn(List.of(fresh));
+        when(cacheManager.getCache("quotesByUser")).thenReturn(cache);
+
+        // When
+        List<DailyQuote> result = dailyQuoteService.addAcceptedDailyQuotes(accepted);
+
+        // Then
+        assertEquals(List.of(fresh), result);
+        verify(cache, times(1)).evict(newUser);
+        verify(cache, never()).evict(storedUser);
+        verify(eventPublisher, times(1)).publishEvent(new DailyQuotesChangedEvent(newUser));
+    }
+
+    @Test
+    void givenCachedAndUncachedIds_whenGetQuotesByIds_thenOnlyMissesAreQueriedAndFoundOnesCached() {
+        // Given
+        DailyQuoteView cached = view(UUID.randomUUID(), UUID.randomUUID());
+        DailyQuoteView stored = view(UUID.randomUUID(), UUID.randomUUID());
+        UUID missingId = UUID.randomUUID();
+        when(cacheManager.getCache("quotesById")).thenReturn(cache);
+        when(cache.get(cached.id(), DailyQuoteView.class)).thenReturn(cached);
+        when(dailyQuoteStore.findViewsByIdIn(List.of(stored.id(), missingId))).thenReturn(List.of(stored));
+
+        // When
+        Map<UUID, DailyQuoteView> result = dailyQuoteService.getQuotesByIds(List.of(cached.id(), stored.id(), missingId, stored.id()));
+
+        // Then
+        assertEquals(Map.of(cached.id(), cached, stored.id(), stored), result);
+        verify(dailyQuoteStore, times(1)).findViewsByIdIn(any());
+        verify(cache, times(1)).putIfAbsent(stored.id(), stored);
+    }
+
+    @Test
+    void givenMoreIdsThanOneChunk_whenGetQuotesByIds_thenOneQueryPerChunk() {
+        // Given
+        List<UUID> ids = IntStream.range(0, DailyQuoteService.LOOKUP_CHUNK_SIZE + 1).mapToObj(i -> UUID.randomUUID()).toList();
+        when(dailyQuoteStore.findViewsByIdIn(any())).thenReturn(List.of());
+
+        // When
+        Map<UUID, DailyQuoteView> result = dailyQuoteService.getQuotesByIds(ids);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(dailyQuoteStore, times(1)).findViewsByIdIn(ids.subList(0, DailyQuoteService.LOOKUP_CHUNK_SIZE));
+        verify(dailyQuoteStore, times(1)).findViewsByIdIn(ids.subList(DailyQuoteService.LOOKUP_CHUNK_SIZE, ids.size()));
+    }
+
+    @Test
+    void givenUserWithMoreQuotesThanOneChunk_whenDeleteQuotesByUserId_thenChunksRunUntilOneIsShortAndCachesAreDropped() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(quoteBulkRepository.getChunkSize()).thenReturn(2);
+        when(quoteBulkRepository.deleteChunkByUserId(userId)).thenReturn(2, 2, 1);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        // When
+        long deleted = dailyQuoteService.deleteQuotesByUserId(userId);
+
+        // Then
+        assertEquals(5, deleted);
+        verify(quoteBulkRepository, times(3)).deleteChunkByUserId(userId);
+        verify(transactionManager, times(3)).commit(any());
+        verify(cache, times(1)).clear();
+        verify(cache, times(1)).evict(userId);
+        verify(eventPublisher, times(1)).publishEvent(new DailyQuotesChangedEvent(userId));
+    }
+
+    @Test
+    void givenQuotesToMove_whenTransferQuotes_thenBothUsersAreNotified() {
+        // Given
+        UUID fromUserId = UUID.randomUUID();
+        UUID toUserId = UUID.randomUUID();
+        when(quoteBulkRepository.getChunkSize()).thenReturn(1000);
+        when(quoteBulkRepository.transferChunk(fromUserId, toUserId)).thenReturn(3);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        // When
+        long moved = dailyQuoteService.transferQuotes(fromUserId, toUserId);
+
+        // Then
+        assertEquals(3, moved);
+        verify(eventPublisher, times(1)).publishEvent(new DailyQuotesChangedEvent(fromUserId));
+        verify(eventPublisher, times(1)).publishEvent(new DailyQuotesChangedEvent(toUserId));
+    }
+
+    @Test
+    void givenSameSourceAndTarget_whenTransferQuotes_thenNothingIsWritten() {
+        UUID userId = UUID.randomUUID();
+
+        assertEquals(0, dailyQuoteService.transferQuotes(userId, userId));
+        verifyNoInteractions(quoteBulkRepository, eventPublisher);
     }
 
     @Test
     void givenUserId_whenGetQuotesByUserId_thenReturnQuotesList() {
         // Given
         UUID userId = UUID.randomUUID();
-        List<DailyQuote> expectedList = Arrays.asList(new DailyQuote(), new DailyQuote());
-        when(dailyQuoteRepository.findByUserId(userId)).thenReturn(expectedList);
+        List<DailyQuoteView> expectedList = Arrays.asList(view(UUID.randomUUID(), userId), view(UUID.randomUUID(), userId));
+        when(dailyQuoteStore.findViewsByUserId(userId)).thenReturn(expectedList);
 
         // When
-        List<DailyQuote> result = dailyQuoteService.getQuotesByUserId(userId);
+        List<DailyQuoteView> result = dailyQuoteService.getQuotesByUserId(userId);
 
         // Then
         assertEquals(expectedList, result, "Returned list should match expected");
-        verify(dailyQuoteRepository, times(1)).findByUserId(userId);
+        verify(dailyQuoteStore, times(1)).findViewsByUserId(userId);
+        verify(dailyQuoteStore, never()).findByUserId(any());
+    }
+
+    @Test
+    void givenConcurrentCallsForSameUser_whenGetQuotesByUserId_thenStoreIsQueriedOnce() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<DailyQuoteView> expectedList = List.of(view(UUID.randomUUID(), userId));
+        CountDownLatch release = new CountDownLatch(1);
+        when(dailyQuoteStore.findViewsByUserId(userId)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return expectedList;
+        });
+
+        // When
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<List<DailyQuoteView>>> calls = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> dailyQuoteService.getQuotesByUserId(userId), callers))
+                .toList();
+        while (meterRegistry.get("daily_quotes.single_flight.calls").tag("result", "coalesced").counter().count() < 3) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Then
+        for (CompletableFuture<List<DailyQuoteView>> call : calls) {
+            assertSame(expectedList, call.get(5, TimeUnit.SECONDS));
+        }
+        callers.shutdown();
+        verify(dailyQuoteStore, times(1)).findViewsByUserId(userId);
+    }
+
+    @Test
+    void givenMiss_whenGetQuotesByUserId_thenLoadedListIsCached() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<DailyQuoteView> expectedList = List.of(view(UUID.randomUUID(), userId));
+        when(cacheManager.getCache("quotesByUser")).thenReturn(cache);
+        when(dailyQuoteStore.findViewsByUserId(userId)).thenReturn(expectedList);
+
+        // When
+        dailyQuoteService.getQuotesByUserId(userId);
+
+        // Then
+        verify(cache).put(userId, expectedList);
+        verify(cache, never()).evict(any());
+    }
+
+    @Test
+    void givenWriteWhileLoadIsInFlight_whenGetQuotesByUserId_thenStaleListIsNotCached() {
+        // Given: the load reads the old rows, then a quote is added before it finishes
+        UUID userId = UUID.randomUUID();
+        List<DailyQuoteView> staleList = List.of(view(UUID.randomUUID(), userId));
+        DailyQuote added = DailyQuote.builder().id(UUID.randomUUID()).quoteImage("added.png").userId(userId).version(0L).build();
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(dailyQuoteStore.save(any(DailyQuote.class))).thenReturn(added);
+        when(dailyQuoteStore.findViewsByUserId(userId)).thenAnswer(invocation -> {
+            dailyQuoteService.addDailyQuote(added);
+            return staleList;
+        });
+
+        // When
+        List<DailyQuoteView> result = dailyQuoteService.getQuotesByUserId(userId);
+
+        // Then: the caller gets what it read, but the next one loads again
+        assertSame(staleList, result);
+        verify(cache, never()).put(eq(userId), any());
+        verify(cache).evict(userId);
+    }
+
+    @Test
+    void givenReadLimitReached_whenGetQuotesByUserId_thenOverloadedWithoutQuery() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        doThrow(new ServiceOverloadedException("Too many concurrent reads", Duration.ofSeconds(1)))
+                .when(loadShedder).read(eq(userId), any());
+
+        // When & Then
+        assertThrows(ServiceOverloadedException.class, () -> dailyQuoteService.getQuotesByUserId(userId));
+        verify(dailyQuoteStore, never()).findViewsByUserId(any());
+    }
+
+    @Test
+    void givenNoCursor_whenGetQuotesPageByUserId_thenReadFirstPage() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<DailyQuoteView> expectedList = List.of(view(UUID.randomUUID(), userId));
+        when(dailyQuoteStore.findViewsByUserIdOrderByIdAsc(userId, Limit.of(11))).thenReturn(expectedList);
+
+        // When
+        List<DailyQuoteView> result = dailyQuoteService.getQuotesPageByUserId(userId, null, 11);
+
+        // Then
+        assertEquals(expectedList, result);
+        verify(dailyQuoteStore, never()).findViewsByUserIdAndIdGreaterThanOrderByIdAsc(any(), any(), any());
+    }
+
+    @Test
+    void givenCursor_whenGetQuotesPageByUserId_thenReadAfterCursor() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID afterId = UUID.randomUUID();
+        List<DailyQuoteView> expectedList = List.of(view(UUID.randomUUID(), userId));
+        when(dailyQuoteStore.findViewsByUserIdAndIdGreaterThanOrderByIdAsc(userId, afterId, Limit.of(11)))
+                .thenReturn(expectedList);
+
+        // When
+        List<DailyQuoteView> result = dailyQuoteService.getQuotesPageByUserId(userId, afterId, 11);
+
+        // Then
+        assertEquals(expectedList, result);
+        verify(dailyQuoteStore, never()).findViewsByUserIdOrderByIdAsc(any(), any());
     }
 
     @Test
     void givenExistingQuoteId_whenGetQuoteById_thenReturnQuote() {
         // Given
         UUID quoteId = UUID.randomUUID();
-        DailyQuote quote = new DailyQuote();
-        quote.setId(quoteId);
-        when(dailyQuoteRepository.findById(quoteId)).thenReturn(Optional.of(quote));
+        DailyQuoteView quote = view(quoteId, UUID.randomUUID());
+        when(dailyQuoteStore.findViewById(quoteId)).thenReturn(Optional.of(quote));
 
         // When
-        Optional<DailyQuote> result = dailyQuoteService.getQuoteById(quoteId);
+        Optional<DailyQuoteView> result = dailyQuoteService.getQuoteById(quoteId);
 
         // Then
         assertTrue(result.isPresent(), "Quote should be present");
         assertEquals(quote, result.get(), "Returned quote should be equal to expected");
-        verify(dailyQuoteRepository, times(1)).findById(quoteId);
+        verify(dailyQuoteStore, times(1)).findViewById(quoteId);
+        verify(dailyQuoteStore, never()).findById(any());
     }
 
     @Test
     void givenNonExistingQuoteId_whenGetQuoteById_thenReturnEmptyOptional() {
         // Given
         UUID quoteId = UUID.randomUUID();
-        when(dailyQuoteRepository.findById(quoteId)).thenReturn(Optional.empty());
+        when(dailyQuoteStore.findViewById(quoteId)).thenReturn(Optional.empty());
 
         // When
-        Optional<DailyQuote> result = dailyQuoteService.getQuoteById(quoteId);
+        Optional<DailyQuoteView> result = dailyQuoteService.getQuoteById(quoteId);
 
         // Then
         assertFalse(result.isPresent(), "Quote should not be found");
-        verify(dailyQuoteRepository, times(1)).findById(quoteId);
+        verify(dailyQuoteStore, times(1)).findViewById(quoteId);
     }
 
     @Test
-    void givenExistingQuote_whenUpdateDailyQuote_thenReturnUpdatedQuote() {
+    void givenSameOwner_whenUpdateDailyQuote_thenSingleConditionalUpdate() {
         // Given
         UUID quoteId = UUID.randomUUID();
-        DailyQuote quote = new DailyQuote();
-        quote.setId(quoteId);
-        when(dailyQuoteRepository.existsById(quoteId)).thenReturn(true);
-        when(dailyQuoteRepository.save(quote)).thenReturn(quote);
+        UUID userId = UUID.randomUUID();
+        DailyQuote quote = DailyQuote.builder().id(quoteId).userId(userId).quoteImage("new.png").build();
+        when(dailyQuoteStore.updateIfOwnedBy(quoteId, "new.png", userId, 2L)).thenReturn(1);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
 
         // When
-        DailyQuote result = dailyQuoteService.updateDailyQuote(quote);
+        DailyQuote result = dailyQuoteService.updateDailyQuote(quote, 2L);
 
         // Then
-        assertEquals(quote, result, "Updated quote should match expected");
-        verify(dailyQuoteRepository, times(1)).existsById(quoteId);
-        verify(dailyQuoteRepository, times(1)).save(quote);
+        assertEquals(quoteId, result.getId());
+        assertEquals(userId, result.getUserId());
+        assertEquals(3L, result.getVersion());
+        verify(dailyQuoteStore, never()).findById(any(UUID.class));
+        verify(cache, times(1)).evict(quoteId);
+        verify(cache, times(1)).evict(userId);
+    }
+
+    @Test
+    void givenQuoteMovedToAnotherUser_whenUpdateDailyQuote_thenEvictBothUsersLists() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        UUID oldUserId = UUID.randomUUID();
+        UUID newUserId = UUID.randomUUID();
+        DailyQuote existing = DailyQuote.builder().id(quoteId).userId(oldUserId).version(7L).build();
+        DailyQuote quote = DailyQuote.builder().id(quoteId).userId(newUserId).quoteImage("a.png").build();
+        when(dailyQuoteStore.findById(quoteId)).thenReturn(Optional.of(existing));
+        when(dailyQuoteStore.updateIfVersion(quoteId, "a.png", newUserId, 7L)).thenReturn(1);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        // When
+        DailyQuote result = dailyQuoteService.updateDailyQuote(quote, null);
+
+        // Then
+        assertEquals(newUserId, result.getUserId());
+        assertEquals(8L, result.getVersion());
+        verify(cache, times(1)).evict(oldUserId);
+        verify(cache, times(1)).evict(newUserId);
+        verify(eventPublisher, times(1)).publishEvent(new DailyQuotesChangedEvent(oldUserId));
+        verify(eventPublisher, times(1)).publishEvent(new DailyQuotesChangedEvent(newUserId));
+    }
+
+    @Test
+    void givenCachedQuoteAndNoIfMatch_whenUpdateDailyQuote_thenCachedVersionMakesItASingleUpdate() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        DailyQuote quote = DailyQuote.builder().id(quoteId).userId(userId).quoteImage("new.png").build();
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(cache.get(quoteId, DailyQuoteView.class)).thenReturn(new DailyQuoteView(quoteId, "a.png", userId, 4L));
+        when(dailyQuoteStore.updateIfOwnedBy(quoteId, "new.png", userId, 4L)).thenReturn(1);
+
+        // When
+        DailyQuote result = dailyQuoteService.updateDailyQuote(quote, null);
+
+        // Then
+        assertEquals(5L, result.getVersion());
+        verify(dailyQuoteStore, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void givenNullUserId_whenUpdateDailyQuote_thenKeepCurrentOwner() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        UUID ownerId = UUID.randomUUID();
+        DailyQuote existing = DailyQuote.builder().id(quoteId).userId(ownerId).version(0L).build();
+        DailyQuote quote = DailyQuote.builder().id(quoteId).quoteImage("a.png").build();
+        when(dailyQuoteStore.findById(quoteId)).thenReturn(Optional.of(existing));
+        when(dailyQuoteStore.updateIfVersion(quoteId, "a.png", ownerId, 0L)).thenReturn(1);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        // When
+        DailyQuote result = dailyQuoteService.updateDailyQuote(quote, null);
+
+        // Then
+        assertEquals(ownerId, result.getUserId());
+        verify(dailyQuoteStore, never()).updateIfOwnedBy(any(), any(), any(), any());
+    }
+
+    @Test
+    void givenStaleVersion_whenUpdateDailyQuote_thenThrowPreconditionFailedException() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        DailyQuote existing = DailyQuote.builder().id(quoteId).userId(userId).version(5L).build();
+        DailyQuote quote = DailyQuote.builder().id(quoteId).userId(userId).quoteImage("a.png").build();
+        when(dailyQuoteStore.updateIfOwnedBy(quoteId, "a.png", userId, 4L)).thenReturn(0);
+        when(dailyQuoteStore.findById(quoteId)).thenReturn(Optional.of(existing));
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> dailyQuoteService.updateDailyQuote(quote, 4L));
+        verify(dailyQuoteStore, never()).updateIfVersion(any(), any(), any(), any());
+        verifyNoInteractions(cache);
     }
 
     @Test
@@ -108,43 +495,104 @@ public class DailyQuoteServiceUTest {
         UUID quoteId = UUID.randomUUID();
         DailyQuote quote = new DailyQuote();
         quote.setId(quoteId);
-        when(dailyQuoteRepository.existsById(quoteId)).thenReturn(false);
+        when(dailyQuoteStore.findById(quoteId)).thenReturn(Optional.empty());
 
         // When & Then
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
-                () -> dailyQuoteService.updateDailyQuote(quote),
+                () -> dailyQuoteService.updateDailyQuote(quote, null),
                 "Expected exception when updating non-existing quote");
         assertEquals("Quote not found with ID: " + quoteId, exception.getMessage());
-        verify(dailyQuoteRepository, times(1)).existsById(quoteId);
-        verify(dailyQuoteRepository, never()).save(any(DailyQuote.class));
+        verify(dailyQuoteStore, times(1)).findById(quoteId);
+        verify(dailyQuoteStore, never()).updateIfVersion(any(), any(), any(), any());
+        verifyNoInteractions(cache);
     }
 
     @Test
-    void givenExistingQuoteId_whenDeleteDailyQuote_thenDeleteSuccessfully() {
+    void givenCachedQuote_whenDeleteDailyQuote_thenSingleDeleteStatement() {
         // Given
         UUID quoteId = UUID.randomUUID();
-        when(dailyQuoteRepository.existsById(quoteId)).thenReturn(true);
+        UUID userId = UUID.randomUUID();
+        DailyQuoteView cached = view(quoteId, userId);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(cache.get(quoteId, DailyQuoteView.class)).thenReturn(cached);
+        when(dailyQuoteStore.deleteIfVersion(quoteId, null)).thenReturn(1);
 
         // When
-        dailyQuoteService.deleteDailyQuote(quoteId);
+        dailyQuoteService.deleteDailyQuote(quoteId, null);
 
         // Then
-        verify(dailyQuoteRepository, times(1)).existsById(quoteId);
-        verify(dailyQuoteRepository, times(1)).deleteById(quoteId);
+        verify(dailyQuoteStore, never()).findOwnerById(any());
+        verify(dailyQuoteStore, times(1)).deleteIfVersion(quoteId, null);
+        verify(cache, times(1)).evict(quoteId);
+        verify(cache, times(1)).evict(userId);
+    }
+
+    @Test
+    void givenQuoteInCachedUserList_whenDeleteDailyQuote_thenOwnerComesFromTheList() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> lists = Caffeine.newBuilder().build();
+        lists.put(userId, List.of(view(UUID.randomUUID(), userId), view(quoteId, userId)));
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(cache.getNativeCache()).thenReturn(lists);
+        when(dailyQuoteStore.deleteIfVersion(quoteId, null)).thenReturn(1);
+
+        // When
+        dailyQuoteService.deleteDailyQuote(quoteId, null);
+
+        // Then
+        verify(dailyQuoteStore, never()).findOwnerById(any());
+        verify(cache, times(1)).evict(userId);
+    }
+
+    @Test
+    void givenUncachedQuote_whenDeleteDailyQuote_thenLookUpOwnerOnly() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(dailyQuoteStore.findOwnerById(quoteId)).thenReturn(Optional.of(() -> userId));
+        when(dailyQuoteStore.deleteIfVersion(quoteId, 1L)).thenReturn(1);
+
+        // When
+        dailyQuoteService.deleteDailyQuote(quoteId, 1L);
+
+        // Then
+        verify(dailyQuoteStore, never()).findById(any());
+        verify(cache, times(1)).evict(userId);
+    }
+
+    @Test
+    void givenStaleVersion_whenDeleteDailyQuote_thenThrowPreconditionFailedException() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(dailyQuoteStore.findOwnerById(quoteId)).thenReturn(Optional.of(UUID::randomUUID));
+        when(dailyQuoteStore.deleteIfVersion(quoteId, 1L)).thenReturn(0);
+        when(dailyQuoteStore.existsById(quoteId)).thenReturn(true);
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> dailyQuoteService.deleteDailyQuote(quoteId, 1L));
+        verify(cache, never()).evict(any());
     }
 
     @Test
     void givenNonExistingQuoteId_whenDeleteDailyQuote_thenThrowEntityNotFoundException() {
         // Given
         UUID quoteId = UUID.randomUUID();
-        when(dailyQuoteRepository.existsById(quoteId)).thenReturn(false);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(dailyQuoteStore.findOwnerById(quoteId)).thenReturn(Optional.empty());
 
         // When & Then
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
-                () -> dailyQuoteService.deleteDailyQuote(quoteId),
+                () -> dailyQuoteService.deleteDailyQuote(quoteId, null),
                 "Expected exception when deleting non-existing quote");
         assertEquals("Quote not found with ID: " + quoteId, exception.getMessage());
-        verify(dailyQuoteRepository, times(1)).existsById(quoteId);
-        verify(dailyQuoteRepository, never()).deleteById(any(UUID.class));
+        verify(dailyQuoteStore, never()).deleteIfVersion(any(UUID.class), any());
+    }
+
+    private static DailyQuoteView view(UUID id, UUID userId) {
+        return new DailyQuoteView(id, "a.png", userId, 0L);
     }
-}
\ No newline at end of file
+}
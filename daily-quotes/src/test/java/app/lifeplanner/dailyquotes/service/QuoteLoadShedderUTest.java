@@ -0,0 +1,63 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteLoadShedderUTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private QuoteLoadShedder loadShedder(boolean enabled, int limit) {
+        return new QuoteLoadShedder(meterRegistry, enabled, limit, limit, limit, limit,
+                Duration.ofMillis(250), 1.0, Duration.ofSeconds(2), 10);
+    }
+
+    private double limit(String name) {
+        return meterRegistry.get("daily_quotes.limiter.limit").tag("name", name).gauge().value();
+    }
+
+    @Test
+    void givenReadsAtTheLimit_whenAnotherRead_thenOverloadedWithRetryAfterWhileWritesStillRun() {
+        QuoteLoadShedder loadShedder = loadShedder(true, 1);
+
+        ServiceOverloadedException ex = loadShedder.read(UUID.randomUUID(), () ->
+                assertThrows(ServiceOverloadedException.class, () -> loadShedder.read(UUID.randomUUID(), () -> "never")));
+
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        assertEquals("written", loadShedder.read(null, () -> loadShedder.write(null, () -> "written")));
+    }
+
+    @Test
+    void givenNoConnectionInTime_whenWrite_thenExceptionPropagatesAndWriteLimitBacksOff() {
+        QuoteLoadShedder loadShedder = loadShedder(true, 10);
+
+        assertThrows(CannotCreateTransactionException.class, () -> loadShedder.write(null, () -> {
+            throw new CannotCreateTransactionException("Connection is not available, request timed out after 30000ms");
+        }));
+
+        assertEquals(9.0, limit("writes"));
+        assertEquals(10.0, limit("reads"));
+    }
+
+    @Test
+    void givenMaxLimitsUnset_whenCreated_thenTheyFollowThePoolSize() {
+        new QuoteLoadShedder(meterRegistry, true, 50, 0, 50, 0, Duration.ofMillis(250), 1.0, Duration.ofSeconds(2), 8);
+
+        assertEquals(8.0, limit("reads"));
+        assertEquals(4.0, limit("writes"));
+    }
+
+    @Test
+    void givenDisabled_whenNestedReadsExceedTheLimit_thenAllRun() {
+        QuoteLoadShedder loadShedder = loadShedder(false, 1);
+
+        assertEquals("inner", loadShedder.read(null, () -> loadShedder.read(null, () -> "inner")));
+    }
+}
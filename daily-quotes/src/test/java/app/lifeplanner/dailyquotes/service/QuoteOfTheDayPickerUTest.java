@@ -0,0 +1,69 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteOfTheDayPickerUTest {
+
+    private static List<DailyQuote> quotes(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> DailyQuote.builder().id(UUID.randomUUID()).quoteImage(i + ".png").build())
+                .toList();
+    }
+
+    @Test
+    void givenNoQuotes_whenPick_thenNull() {
+        assertNull(QuoteOfTheDayPicker.pick(UUID.randomUUID(), List.of(), LocalDate.now()));
+    }
+
+    @Test
+    void givenSameInputsInAnyOrder_whenPick_thenSameQuote() {
+        UUID userId = UUID.randomUUID();
+        List<DailyQuote> quotes = quotes(10);
+        List<DailyQuote> reversed = new ArrayList<>(quotes);
+        Collections.reverse(reversed);
+        LocalDate day = LocalDate.of(2026, 3, 14);
+
+        assertEquals(QuoteOfTheDayPicker.pick(userId, quotes, day), QuoteOfTheDayPicker.pick(userId, reversed, day));
+    }
+
+    @Test
+    void givenOneCycle_whenPickEachDay_thenEveryQuoteShownExactlyOnce() {
+        UUID userId = UUID.randomUUID();
+        List<DailyQuote> quotes = quotes(7);
+        // Start on the first day of a cycle (epoch day divisible by the quote count)
+        LocalDate cycleStart = LocalDate.ofEpochDay(7 * 3000L);
+
+        Set<DailyQuote> shown = new HashSet<>();
+        for (int day = 0; day < quotes.size(); day++) {
+            shown.add(QuoteOfTheDayPicker.pick(userId, quotes, cycleStart.plusDays(day)));
+        }
+
+        assertEquals(new HashSet<>(quotes), shown);
+    }
+
+    @Test
+    void givenManyDays_whenPick_thenNeverTheSameQuoteTwiceInARow() {
+        UUID userId = UUID.randomUUID();
+        List<DailyQuote> quotes = quotes(3);
+        LocalDate day = LocalDate.of(2026, 1, 1);
+
+        DailyQuote previous = QuoteOfTheDayPicker.pick(userId, quotes, day);
+        for (int i = 1; i < 400; i++) {
+            DailyQuote current = QuoteOfTheDayPicker.pick(userId, quotes, day.plusDays(i));
+            assertNotEquals(previous, current, "Repeated quote on " + day.plusDays(i));
+            previous = current;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.event.DailyQuotesChangedEvent;
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QuoteOfTheDayServiceUTest {
+
+    @Mock
+    private DailyQuoteStore dailyQuoteStore;
+
+    private QuoteOfTheDayService quoteOfTheDayService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-05-01T10:00:00Z"), ZoneOffset.UTC);
+        quoteOfTheDayService = new QuoteOfTheDayService(dailyQuoteStore, new QuoteShards(false, List.of(), Duration.ofSeconds(1)),
+                Runnable::run, 2, clock);
+    }
+
+    private static DailyQuote quote(UUID userId) {
+        return DailyQuote.builder().id(UUID.randomUUID()).userId(userId).quoteImage("q.png").build();
+    }
+
+    @Test
+    void givenUsersInSeveralChunks_whenPrecomputeAll_thenPicksAreServedFromMemory() {
+        // Given
+        UUID user1 = UUID.randomUUID();
+        UUID user2 = UUID.randomUUID();
+        UUID user3 = UUID.randomUUID();
+        DailyQuote quote1 = quote(user1);
+        DailyQuote quote2 = quote(user2);
+        DailyQuote quote3 = quote(user3);
+        when(dailyQuoteStore.findUserIds(Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(dailyQuoteStore.findUserIdsAfter(user2, Limit.of(2))).thenReturn(List.of(user3));
+        when(dailyQuoteStore.findByUserIdIn(List.of(user1, user2))).thenReturn(List.of(quote1, quote2));
+        when(dailyQuoteStore.findByUserIdIn(List.of(user3))).thenReturn(List.of(quote3));
+
+        // When
+        quoteOfTheDayService.precomputeAll();
+
+        // Then
+        assertEquals(Optional.of(quote1), quoteOfTheDayService.getTodaysQuote(user1));
+        assertEquals(Optional.of(quote2), quoteOfTheDayService.getTodaysQuote(user2));
+        assertEquals(Optional.of(quote3), quoteOfTheDayService.getTodaysQuote(user3));
+        verify(dailyQuoteStore, never()).findByUserId(any());
+    }
+
+    @Test
+    void givenUserNotPrecomputed_whenGetTodaysQuote_thenComputeOnDemandOnce() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        DailyQuote quote = quote(userId);
+        when(dailyQuoteStore.findByUserId(userId)).thenReturn(List.of(quote));
+
+        // When
+        Optional<DailyQuote> first = quoteOfTheDayService.getTodaysQuote(userId);
+        Optional<DailyQuote> second = quoteOfTheDayService.getTodaysQuote(userId);
+
+        // Then
+        assertEquals(Optional.of(quote), first);
+        assertEquals(first, second);
+        verify(dailyQuoteStore, times(1)).findByUserId(userId);
+    }
+
+    @Test
+    void givenQuotesChanged_whenOnQuotesChanged_thenOnlyThatUserIsRecomputed() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        DailyQuote before = quote(userId);
+        DailyQuote after = quote(userId);
+        when(dailyQuoteStore.findByUserId(userId)).thenReturn(List.of(before), List.of(after));
+        quoteOfTheDayService.getTodaysQuote(userId);
+
+        // When
+        quoteOfTheDayService.onQuotesChanged(new DailyQuotesChangedEvent(userId));
+
+        // Then
+        assertEquals(Optional.of(after), quoteOfTheDayService.getTodaysQuote(userId));
+        verify(dailyQuoteStore, times(2)).findByUserId(userId);
+        verify(dailyQuoteStore, never()).findUserIds(any());
+    }
+
+    @Test
+    void givenUserLostAllQuotes_whenOnQuotesChanged_thenNoPick() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(dailyQuoteStore.findByUserId(userId)).thenReturn(List.of(quote(userId)), List.of());
+        quoteOfTheDayService.getTodaysQuote(userId);
+
+        // When
+        quoteOfTheDayService.onQuotesChanged(new DailyQuotesChangedEvent(userId));
+
+        // Then
+        assertTrue(quoteOfTheDayService.getTodaysQuote(userId).isEmpty());
+    }
+
+    @Test
+    void givenChunkReadBeforeQuotesChanged_whenRefreshStoresFirst_thenStaleChunkPickIsDropped() {
+        // Given: the user's quotes change (and are refreshed) while the nightly chunk is still reading the old ones
+        UUID userId = UUID.randomUUID();
+        DailyQuote before = quote(userId);
+        DailyQuote after = quote(userId);
+        when(dailyQuoteStore.findUserIds(Limit.of(2))).thenReturn(List.of(userId));
+        when(dailyQuoteStore.findByUserId(userId)).thenReturn(List.of(after));
+        when(dailyQuoteStore.findByUserIdIn(List.of(userId))).thenAnswer(invocation -> {
+            quoteOfTheDayService.onQuotesChanged(new DailyQuotesChangedEvent(userId));
+            return List.of(before);
+        });
+
+        // When
+        quoteOfTheDayService.precomputeAll();
+
+        // Then
+        assertEquals(Optional.of(after), quoteOfTheDayService.getTodaysQuote(userId));
+        verify(dailyQuoteStore, times(1)).findByUserId(userId);
+    }
+}
@@ -0,0 +1,85 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.exception.ServiceOverloadedException;
+import app.lifeplanner.dailyquotes.model.ShardSlots;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteShardsUTest {
+
+    private static UUID userOnShard(QuoteShards quoteShards, String shard) {
+        UUID userId;
+        do {
+            userId = UUID.randomUUID();
+        } while (!quoteShards.getRing().shardOf(ShardSlots.ofUser(userId)).equals(shard));
+        return userId;
+    }
+
+    @Test
+    void givenShardingOff_whenPartitionAndHandover_thenOneGroupAndSameShardWrite() {
+        // Given
+        QuoteShards quoteShards = new QuoteShards(false, List.of(), Duration.ofSeconds(1));
+        List<UUID> userIds = IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toList();
+
+        // When / Then
+        assertEquals(List.of(userIds), quoteShards.partition(userIds, ShardSlots::ofUser));
+        assertEquals("updated", quoteShards.writeForHandover(UUID.randomUUID(), UUID.randomUUID(), () -> "updated", () -> "moved"));
+    }
+
+    @Test
+    void givenTwoShards_whenPartition_thenEachGroupHoldsOneShardsItems() {
+        // Given
+        QuoteShards quoteShards = new QuoteShards(true, List.of("shard-0", "shard-1"), Duration.ofSeconds(1));
+        List<UUID> userIds = IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toList();
+
+        // When
+        List<List<UUID>> groups = quoteShards.partition(userIds, ShardSlots::ofUser);
+
+        // Then
+        assertEquals(2, groups.size());
+        assertEquals(userIds.size(), groups.stream().mapToInt(List::size).sum());
+        for (List<UUID> group : groups) {
+            String shard = quoteShards.getRing().shardOf(ShardSlots.ofUser(group.get(0)));
+            assertTrue(group.stream().allMatch(userId -> quoteShards.getRing().shardOf(ShardSlots.ofUser(userId)).equals(shard)));
+        }
+    }
+
+    @Test
+    void givenTwoShards_whenHandover_thenMovedOnlyBetweenShards() {
+        // Given
+        QuoteShards quoteShards = new QuoteShards(true, List.of("shard-0", "shard-1"), Duration.ofSeconds(1));
+        UUID fromUserId = userOnShard(quoteShards, "shard-0");
+
+        // When
+        String withinShard = quoteShards.writeForHandover(fromUserId, userOnShard(quoteShards, "shard-0"), () -> "updated", () -> "moved");
+        String acrossShards = quoteShards.writeForHandover(fromUserId, userOnShard(quoteShards, "shard-1"), () -> "updated", () -> "moved");
+
+        // Then
+        assertEquals("updated", withinShard);
+        assertEquals("moved", acrossShards);
+    }
+
+    @Test
+    void givenFrozenSlot_whenWrite_thenOverloadedUntilUnfrozen() {
+        // Given
+        QuoteShards quoteShards = new QuoteShards(true, List.of("shard-0"), Duration.ofSeconds(2));
+        UUID userId = UUID.randomUUID();
+        int[] slot = {ShardSlots.ofUser(userId)};
+        quoteShards.freeze(slot);
+
+        // When / Then
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class, () -> quoteShards.writeForUser(userId, () -> "written"));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        assertEquals("read", quoteShards.readForUser(userId, () -> "read"));
+        assertEquals("undone", quoteShards.onShardOfUser(userId, () -> "undone"));
+
+        quoteShards.unfreeze(slot);
+        assertEquals("written", quoteShards.writeForUser(userId, () -> "written"));
+    }
+}
@@ -0,0 +1,94 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.model.ShardSlots;
+import app.lifeplanner.dailyquotes.repository.ShardMoveRepository;
+import app.lifeplanner.dailyquotes.repository.ShardRingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShardRebalancerUTest {
+
+    private static final List<String> CONFIGURED = List.of("shard-0", "shard-1", "shard-2");
+
+    @Mock
+    private ShardMoveRepository shardMoveRepository;
+
+    @Mock
+    private ShardRingRepository shardRingRepository;
+
+    private final QuoteShards quoteShards = new QuoteShards(true, List.of("shard-0", "shard-1"), Duration.ofSeconds(1));
+
+    @Test
+    void givenStoredRing_whenStarted_thenItReplacesTheConfiguredRing() {
+        // Given
+        when(shardRingRepository.find()).thenReturn(Optional.of(CONFIGURED));
+        ShardRebalancer shardRebalancer = new ShardRebalancer(quoteShards, shardMoveRepository, shardRingRepository, CONFIGURED, 10, Duration.ofMinutes(1));
+
+        // When
+        shardRebalancer.afterSingletonsInstantiated();
+
+        // Then
+        assertEquals(CONFIGURED, quoteShards.getRing().getShards());
+    }
+
+    @Test
+    void givenStoredRingNamingAnUnconfiguredShard_whenStarted_thenStartupFails() {
+        // Given
+        when(shardRingRepository.find()).thenReturn(Optional.of(List.of("shard-0", "shard-3")));
+        ShardRebalancer shardRebalancer = new ShardRebalancer(quoteShards, shardMoveRepository, shardRingRepository, CONFIGURED, 10, Duration.ofMinutes(1));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, shardRebalancer::afterSingletonsInstantiated);
+        assertEquals(List.of("shard-0", "shard-1"), quoteShards.getRing().getShards());
+    }
+
+    @Test
+    void givenNothingToMove_whenRebalanced_thenRingIsStored() {
+        // Given
+        ShardRebalancer shardRebalancer = new ShardRebalancer(quoteShards, shardMoveRepository, shardRingRepository, CONFIGURED, 10, Duration.ofMinutes(1));
+
+        // When
+        shardRebalancer.rebalance(List.of("shard-0", "shard-1"));
+
+        // Then
+        verify(shardRingRepository).save(List.of("shard-0", "shard-1"));
+        verify(shardMoveRepository, never()).upsert(anyList());
+    }
+
+    @Test
+    void givenInterruptedHandovers_whenRepaired_thenCopiesOfOriginalsStillInPlaceAreDeleted() {
+        // Given: one original is still on shard-0, the other handover got as far as deleting its original
+        UUID toUserId;
+        do {
+            toUserId = UUID.randomUUID();
+        } while (!quoteShards.getRing().shardOf(ShardSlots.ofUser(toUserId)).equals("shard-1"));
+        UUID kept = UUID.randomUUID();
+        UUID moved = UUID.randomUUID();
+        when(shardMoveRepository.findHandoversBefore(any()))
+                .thenReturn(List.of(new ShardMoveRepository.Handover(kept, toUserId), new ShardMoveRepository.Handover(moved, toUserId)), List.of());
+        when(shardMoveRepository.findVersions(List.of(kept, moved))).thenReturn(Map.of(kept, 0L));
+        ShardRebalancer shardRebalancer = new ShardRebalancer(quoteShards, shardMoveRepository, shardRingRepository, CONFIGURED, 10, Duration.ofMinutes(1));
+
+        // When
+        shardRebalancer.repairHandovers();
+
+        // Then
+        verify(shardMoveRepository).deleteByIds(List.of(kept));
+        verify(shardMoveRepository, never()).deleteByIds(List.of(moved));
+        verify(shardMoveRepository).forgetHandovers(List.of(kept, moved));
+    }
+}
@@ -0,0 +1,50 @@
+package app.lifeplanner.dailyquotes.service;
+
+import app.lifeplanner.dailyquotes.model.ShardSlots;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardRingUTest {
+
+    @Test
+    void givenSameShardNames_whenRingsBuilt_thenEverySlotHasTheSameOwner() {
+        // When
+        ShardRing first = new ShardRing(List.of("shard-0", "shard-1", "shard-2"));
+        ShardRing second = new ShardRing(List.of("shard-0", "shard-1", "shard-2"));
+
+        // Then
+        assertEquals(0, first.slotsMovingTo(second).length);
+    }
+
+    @Test
+    void givenThreeShards_whenSlotsAssigned_thenEachShardOwnsRoughlyAThird() {
+        // When
+        ShardRing ring = new ShardRing(List.of("shard-0", "shard-1", "shard-2"));
+
+        // Then
+        for (String shard : ring.getShards()) {
+            double share = (double) ring.slotCount(shard) / ShardSlots.SLOTS;
+            assertTrue(share > 0.2 && share < 0.47, shard + " owns " + share + " of the slots");
+        }
+    }
+
+    @Test
+    void givenShardAdded_whenComparingRings_thenOnlySlotsTakenByTheNewShardMove() {
+        // Given
+        ShardRing current = new ShardRing(List.of("shard-0", "shard-1", "shard-2"));
+        ShardRing target = new ShardRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"));
+
+        // When
+        int[] moving = current.slotsMovingTo(target);
+
+        // Then
+        assertTrue(IntStream.of(moving).allMatch(slot -> target.shardOf(slot).equals("shard-3")));
+        double share = (double) moving.length / ShardSlots.SLOTS;
+        assertTrue(share > 0.1 && share < 0.4, "moved " + share + " of the slots");
+        assertEquals(moving.length, target.slotCount("shard-3"));
+    }
+}
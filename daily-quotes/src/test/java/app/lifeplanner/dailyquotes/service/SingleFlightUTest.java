@@ -0,0 +1,123 @@
+package app.lifeplanner.dailyquotes.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightUTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private double calls(String result) {
+        return meterRegistry.get("daily_quotes.single_flight.calls").tag("result", result).counter().count();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("daily_quotes.single_flight.in_flight").gauge().value();
+    }
+
+    // Starts four callers for the key and returns once all but the first are waiting on its load
+    private List<Future<Integer>> callConcurrently(String key, Supplier<Integer> loader) throws InterruptedException {
+        List<Future<Integer>> futures = IntStream.range(0, 4)
+                .mapToObj(i -> callers.submit(() -> singleFlight.execute(key, loader)))
+                .toList();
+        while (calls("coalesced") < 3) {
+            Thread.sleep(5);
+        }
+        return futures;
+    }
+
+    private static Supplier<Integer> blockingLoader(CountDownLatch release, AtomicInteger loads, Supplier<Integer> result) {
+        return () -> {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    @Test
+    void givenConcurrentCallsForSameKey_whenExecute_thenOneLoadIsShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<Integer>> futures = callConcurrently("a", blockingLoader(release, loads, () -> 42));
+        assertEquals(1.0, inFlight());
+        release.countDown();
+
+        for (Future<Integer> future : futures) {
+            assertEquals(42, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1.0, calls("executed"));
+        assertEquals(3.0, calls("coalesced"));
+        assertEquals(0.0, inFlight());
+    }
+
+    @Test
+    void givenFailingLoad_whenExecuteConcurrently_thenEveryCallerSeesTheException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<Integer>> futures = callConcurrently("a", blockingLoader(release, loads, () -> {
+            throw new IllegalStateException("database down");
+        }));
+        release.countDown();
+
+        for (Future<Integer> future : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(7, singleFlight.execute("a", () -> 7), "a failed load must not stay in flight");
+    }
+
+    @Test
+    void givenSequentialCalls_whenExecute_thenEachRunsItsOwnLoad() {
+        assertEquals(1, singleFlight.execute("a", () -> 1));
+        assertEquals(2, singleFlight.execute("a", () -> 2));
+        assertEquals(3, singleFlight.execute("b", () -> 3));
+
+        assertEquals(3.0, calls("executed"));
+        assertEquals(0.0, calls("coalesced"));
+    }
+
+    @Test
+    void givenForgottenKey_whenExecuteDuringOldLoad_thenNewLoadRuns() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> stale = callers.submit(() -> singleFlight.execute("a", blockingLoader(release, new AtomicInteger(), () -> 1)));
+        while (inFlight() < 1) {
+            Thread.sleep(5);
+        }
+
+        singleFlight.forget("a");
+
+        assertEquals(2, singleFlight.execute("a", () -> 2));
+        release.countDown();
+        assertEquals(1, stale.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, calls("coalesced"));
+    }
+}
@@ -0,0 +1,103 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DailyQuotesBinaryFormatsITest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    // Configured like a Spring client's mappers (parameter names module included)
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private AddDailyQuoteRequest create(ObjectMapper mapper, MediaType mediaType, UUID userId) throws Exception {
+        AddDailyQuoteRequest request = AddDailyQuoteRequest.builder().quoteImage("a.png").userId(userId).build();
+        byte[] body = mockMvc.perform(post("/api/v1/daily-quotes")
+                        .contentType(mediaType)
+                        .accept(mediaType)
+                        .content(mapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+        return mapper.readValue(body, AddDailyQuoteRequest.class);
+    }
+
+    @Test
+    void givenCborBodies_whenCreateAndListQuotes_thenUuidsTravelAsSixteenRawBytes() throws Exception {
+        UUID userId = UUID.randomUUID();
+        AddDailyQuoteRequest created = create(cborMapper, MediaType.APPLICATION_CBOR, userId);
+
+        byte[] body = mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode quote = cborMapper.readTree(body).get(0);
+        assertTrue(quote.get("id").isBinary());
+        assertEquals(16, quote.get("id").binaryValue().length);
+        assertFalse(quote.has("version"));
+        List<AddDailyQuoteRequest> quotes = cborMapper.readerForListOf(AddDailyQuoteRequest.class).readValue(body);
+        assertEquals(List.of(created), quotes);
+    }
+
+    @Test
+    void givenSmileAccept_whenGetQuoteById_thenSmileBodyWithETag() throws Exception {
+        UUID userId = UUID.randomUUID();
+        AddDailyQuoteRequest created = create(smileMapper, SMILE, userId);
+
+        byte[] body = mockMvc.perform(get("/api/v1/daily-quotes/{id}", created.getId()).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        AddDailyQuoteRequest quote = smileMapper.readValue(body, AddDailyQuoteRequest.class);
+        assertEquals(created.getId(), quote.getId());
+        assertEquals(userId, quote.getUserId());
+    }
+
+    @Test
+    void givenNoAcceptHeader_whenGetQuotesByUserId_thenJsonStaysTheDefault() throws Exception {
+        UUID userId = UUID.randomUUID();
+        create(cborMapper, MediaType.APPLICATION_CBOR, userId);
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].userId").value(userId.toString()));
+    }
+
+    @Test
+    void givenInvalidCborBatch_whenAddDailyQuotes_thenErrorBodyIsCborToo() throws Exception {
+        mockMvc.perform(post("/api/v1/daily-quotes/batch")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(List.of(AddDailyQuoteRequest.builder().quoteImage("").build()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+}
@@ -0,0 +1,98 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.web.dto.TransferDailyQuotesRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Tiny chunks so every bulk operation here spans several statements
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "daily-quotes.bulk.chunk-size=2")
+public class DailyQuotesBulkITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<UUID> createQuotes(UUID userId, int count) throws Exception {
+        List<AddDailyQuoteRequest> quotes = IntStream.range(0, count)
+                .mapToObj(i -> AddDailyQuoteRequest.builder().quoteImage("quote-" + i + ".png").userId(userId).build())
+                .toList();
+        String body = mockMvc.perform(post("/api/v1/daily-quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(quotes)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return List.of(objectMapper.readValue(body, AddDailyQuoteRequest[].class)).stream().map(AddDailyQuoteRequest::getId).toList();
+    }
+
+    @Test
+    void givenUserWithCachedQuotes_whenDeleteQuotesByUserId_thenAllAreGoneAndOthersStay() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        List<UUID> ids = createQuotes(userId, 5);
+        createQuotes(otherUserId, 1);
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", ids.get(0))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId)).andExpect(jsonPath("$", hasSize(5)));
+
+        mockMvc.perform(delete("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5));
+
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", ids.get(0))).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId)).andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", otherUserId)).andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(delete("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(jsonPath("$.affected").value(0));
+    }
+
+    @Test
+    void givenCachedQuote_whenTransferQuotes_thenItMovesWithANewVersion() throws Exception {
+        UUID fromUserId = UUID.randomUUID();
+        UUID toUserId = UUID.randomUUID();
+        List<UUID> ids = createQuotes(fromUserId, 3);
+        createQuotes(toUserId, 1);
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", ids.get(1))).andExpect(header().string("ETag", "\"0\""));
+
+        mockMvc.perform(post("/api/v1/daily-quotes/user/{userId}/transfer", fromUserId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TransferDailyQuotesRequest.builder().toUserId(toUserId).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", ids.get(1)))
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.userId").value(toUserId.toString()));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", fromUserId)).andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", toUserId)).andExpect(jsonPath("$", hasSize(4)));
+    }
+
+    @Test
+    void givenNoTarget_whenTransferQuotes_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/daily-quotes/user/{userId}/transfer", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,150 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.web.dto.EditDailyQuotesRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DailyQuotesConditionalWriteITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID createQuote(UUID userId) throws Exception {
+        AddDailyQuoteRequest request = AddDailyQuoteRequest.builder().quoteImage("first.png").userId(userId).build();
+        String body = mockMvc.perform(post("/api/v1/daily-quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, AddDailyQuoteRequest.class).getId();
+    }
+
+    private String edit(String quoteImage, UUID userId) throws Exception {
+        return objectMapper.writeValueAsString(EditDailyQuotesRequest.builder().quoteImage(quoteImage).userId(userId).build());
+    }
+
+    @Test
+    void givenMatchingAndStaleIfMatch_whenUpdateDailyQuote_thenSecondWriterGets412() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID quoteId = createQuote(userId);
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(edit("second.png", userId)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(edit("lost-update.png", userId)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", quoteId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.quoteImage", is("second.png")));
+    }
+
+    @Test
+    void givenNewOwner_whenUpdateDailyQuote_thenQuoteMovesBetweenUserLists() throws Exception {
+        UUID oldUserId = UUID.randomUUID();
+        UUID newUserId = UUID.randomUUID();
+        UUID quoteId = createQuote(oldUserId);
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", oldUserId)).andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(edit("moved.png", newUserId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId", is(newUserId.toString())));
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", oldUserId)).andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", newUserId)).andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void givenNullUserId_whenUpdateDailyQuote_thenOwnerIsKept() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID quoteId = createQuote(userId);
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(edit("second.png", null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId", is(userId.toString())))
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+
+    @Test
+    void givenMissingQuote_whenUpdateOrDelete_thenNotFound() throws Exception {
+        UUID quoteId = UUID.randomUUID();
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(edit("x.png", UUID.randomUUID())))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", quoteId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenIfMatchAny_whenUpdateOrDelete_thenExistingQuoteIsWrittenAndMissingOneFails412() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID quoteId = createQuote(userId);
+        UUID missingId = UUID.randomUUID();
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(edit("second.png", userId)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", missingId)
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(edit("x.png", userId)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", missingId).header("If-Match", "*"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", quoteId).header("If-Match", "*"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void givenIfMatch_whenDeleteDailyQuote_thenOnlyCurrentVersionDeletes() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID quoteId = createQuote(userId);
+
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", quoteId).header("If-Match", "\"3\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", quoteId).header("If-Match", "\"0\""))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", quoteId))
+                .andExpect(status().isNotFound());
+    }
+}
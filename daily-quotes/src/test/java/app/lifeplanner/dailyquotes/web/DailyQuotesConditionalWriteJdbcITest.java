@@ -0,0 +1,8 @@
+package app.lifeplanner.dailyquotes.web;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Same scenarios as DailyQuotesConditionalWriteITest, served by the JDBC persistence backend
+@TestPropertySource(properties = "daily-quotes.persistence.backend=jdbc")
+public class DailyQuotesConditionalWriteJdbcITest extends DailyQuotesConditionalWriteITest {
+}
@@ -1,15 +1,22 @@
 package app.lifeplanner.dailyquotes.web;
 
+import app.lifeplanner.dailyquotes.exception.EntityNotFoundException;
+import app.lifeplanner.dailyquotes.exception.PreconditionFailedException;
 import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.service.DailyQuoteExportService;
 import app.lifeplanner.dailyquotes.service.DailyQuoteService;
+import app.lifeplanner.dailyquotes.service.QuoteOfTheDayService;
 import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
 import app.lifeplanner.dailyquotes.web.dto.EditDailyQuotesRequest;
 import app.lifeplanner.dailyquotes.web.mapper.DailyQuoteMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -25,6 +32,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DailyQuotesController.class)
+@Import(SimpleMeterRegistry.class)
 public class DailyQuotesControllerApiTest {
     @Autowired
     private MockMvc mockMvc;
@@ -32,6 +40,12 @@ public class DailyQuotesControllerApiTest {
     @MockitoBean
     private DailyQuoteService dailyQuoteService;
 
+    @MockitoBean
+    private DailyQuoteExportService dailyQuoteExportService;
+
+    @MockitoBean
+    private QuoteOfTheDayService quoteOfTheDayService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -42,38 +56,155 @@ public class DailyQuotesControllerApiTest {
         return quote;
     }
 
+    private DailyQuoteView createDummyView(UUID id, UUID userId, Long version) {
+        return new DailyQuoteView(id, "https://example.com/" + id + ".png", userId, version);
+    }
+
     // GET /api/v1/daily-quotes/user/{userId}
     @Test
     public void testGetQuotesByUserId() throws Exception {
         UUID userId = UUID.randomUUID();
-        DailyQuote quote1 = createDummyQuote(UUID.randomUUID(), userId);
-        DailyQuote quote2 = createDummyQuote(UUID.randomUUID(), userId);
-        List<DailyQuote> quotes = Arrays.asList(quote1, quote2);
+        DailyQuoteView quote1 = createDummyView(UUID.randomUUID(), userId, 0L);
+        DailyQuoteView quote2 = createDummyView(UUID.randomUUID(), userId, 0L);
+        List<DailyQuoteView> quotes = Arrays.asList(quote1, quote2);
         when(dailyQuoteService.getQuotesByUserId(userId)).thenReturn(quotes);
 
         mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(quote1.getId().toString())))
-                .andExpect(jsonPath("$[1].id", is(quote2.getId().toString())));
+                .andExpect(jsonPath("$[0].id", is(quote1.id().toString())))
+                .andExpect(jsonPath("$[1].id", is(quote2.id().toString())));
 
         verify(dailyQuoteService, times(1)).getQuotesByUserId(userId);
     }
 
+    // GET /api/v1/daily-quotes/user/{userId} - unchanged list
+    @Test
+    public void testGetQuotesByUserId_NotModified() throws Exception {
+        UUID userId = UUID.randomUUID();
+        List<DailyQuoteView> quotes = List.of(createDummyView(UUID.randomUUID(), userId, 0L));
+        when(dailyQuoteService.getQuotesByUserId(userId)).thenReturn(quotes);
+        String eTag = mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+    }
+
+    // GET /api/v1/daily-quotes/user/{userId} - list changed since the client's copy
+    @Test
+    public void testGetQuotesByUserId_Modified() throws Exception {
+        UUID userId = UUID.randomUUID();
+        DailyQuoteView quote = createDummyView(UUID.randomUUID(), userId, 1L);
+        when(dailyQuoteService.getQuotesByUserId(userId)).thenReturn(List.of(quote));
+        String staleETag = QuoteETags.ofList(List.of(createDummyView(quote.id(), userId, 0L)));
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId).header("If-None-Match", staleETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    // GET /api/v1/daily-quotes/user/{userId}/today
+    @Test
+    public void testGetTodaysQuote() throws Exception {
+        UUID userId = UUID.randomUUID();
+        DailyQuote quote = createDummyQuote(UUID.randomUUID(), userId);
+        when(quoteOfTheDayService.getTodaysQuote(userId)).thenReturn(Optional.of(quote));
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}/today", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(quote.getId().toString())));
+    }
+
+    // GET /api/v1/daily-quotes/user/{userId}/today - user without quotes
+    @Test
+    public void testGetTodaysQuote_NotFound() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(quoteOfTheDayService.getTodaysQuote(userId)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}/today", userId))
+                .andExpect(status().isNotFound());
+    }
+
+    // GET /api/v1/daily-quotes/user/{userId}/page - first page with a following page
+    @Test
+    public void testGetQuotesPageByUserId_HasNext() throws Exception {
+        UUID userId = UUID.randomUUID();
+        DailyQuoteView quote1 = createDummyView(UUID.randomUUID(), userId, 0L);
+        DailyQuoteView quote2 = createDummyView(UUID.randomUUID(), userId, 0L);
+        DailyQuoteView quote3 = createDummyView(UUID.randomUUID(), userId, 0L);
+        when(dailyQuoteService.getQuotesPageByUserId(userId, null, 3))
+                .thenReturn(Arrays.asList(quote1, quote2, quote3));
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}/page", userId).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[1].id", is(quote2.id().toString())))
+                .andExpect(jsonPath("$.next", is(PageCursor.encode(quote2.id()))));
+
+        verify(dailyQuoteService, times(1)).getQuotesPageByUserId(userId, null, 3);
+    }
+
+    // GET /api/v1/daily-quotes/user/{userId}/page - last page resumes after the cursor
+    @Test
+    public void testGetQuotesPageByUserId_LastPage() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID afterId = UUID.randomUUID();
+        DailyQuoteView quote = createDummyView(UUID.randomUUID(), userId, 0L);
+        when(dailyQuoteService.getQuotesPageByUserId(userId, afterId, 3))
+                .thenReturn(List.of(quote));
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}/page", userId)
+                        .param("limit", "2")
+                        .param("next", PageCursor.encode(afterId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        verify(dailyQuoteService, times(1)).getQuotesPageByUserId(userId, afterId, 3);
+    }
+
+    // GET /api/v1/daily-quotes/user/{userId}/page - malformed cursor
+    @Test
+    public void testGetQuotesPageByUserId_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}/page", UUID.randomUUID())
+                        .param("next", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(dailyQuoteService, never()).getQuotesPageByUserId(any(), any(), anyInt());
+    }
+
     // GET /api/v1/daily-quotes/{id} - Found
     @Test
     public void testGetQuoteById_Found() throws Exception {
         UUID quoteId = UUID.randomUUID();
-        DailyQuote quote = createDummyQuote(quoteId, UUID.randomUUID());
+        DailyQuoteView quote = createDummyView(quoteId, UUID.randomUUID(), 4L);
         when(dailyQuoteService.getQuoteById(quoteId)).thenReturn(Optional.of(quote));
 
         mockMvc.perform(get("/api/v1/daily-quotes/{id}", quoteId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id", is(quoteId.toString())));
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.id", is(quoteId.toString())))
+                .andExpect(jsonPath("$.version").doesNotExist());
 
         verify(dailyQuoteService, times(1)).getQuoteById(quoteId);
     }
 
+    // GET /api/v1/daily-quotes/{id} - unchanged version
+    @Test
+    public void testGetQuoteById_NotModified() throws Exception {
+        UUID quoteId = UUID.randomUUID();
+        DailyQuoteView quote = createDummyView(quoteId, UUID.randomUUID(), 4L);
+        when(dailyQuoteService.getQuoteById(quoteId)).thenReturn(Optional.of(quote));
+
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", quoteId).header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     // GET /api/v1/daily-quotes/{id} - Not found
     @Test
     public void testGetQuoteById_NotFound() throws Exception {
@@ -105,6 +236,77 @@ public class DailyQuotesControllerApiTest {
                 .addDailyQuote(ArgumentMatchers.any(DailyQuote.class));
     }
 
+    // POST /api/v1/daily-quotes/batch
+    @Test
+    public void testAddDailyQuotes() throws Exception {
+        UUID userId = UUID.randomUUID();
+        List<AddDailyQuoteRequest> requestDtos = List.of(
+                AddDailyQuoteRequest.builder().quoteImage("a.png").userId(userId).build(),
+                AddDailyQuoteRequest.builder().id(UUID.randomUUID()).quoteImage("b.png").userId(userId).build());
+        List<DailyQuote> savedEntities = List.of(
+                createDummyQuote(UUID.randomUUID(), userId),
+                createDummyQuote(UUID.randomUUID(), userId));
+        when(dailyQuoteService.addDailyQuotes(ArgumentMatchers.anyList())).thenReturn(savedEntities);
+
+        mockMvc.perform(post("/api/v1/daily-quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDtos)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id", is(savedEntities.get(1).getId().toString())));
+
+        verify(dailyQuoteService, times(1)).addDailyQuotes(ArgumentMatchers.argThat(quotes ->
+                quotes.size() == 2 && quotes.stream().allMatch(quote -> quote.getId() == null)));
+    }
+
+    // POST /api/v1/daily-quotes/batch - one invalid element rejects the whole batch
+    @Test
+    public void testAddDailyQuotes_InvalidElement() throws Exception {
+        List<AddDailyQuoteRequest> requestDtos = List.of(
+                AddDailyQuoteRequest.builder().quoteImage("a.png").build(),
+                AddDailyQuoteRequest.builder().quoteImage(" ").build());
+
+        mockMvc.perform(post("/api/v1/daily-quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDtos)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("quotes[1].quoteImage")));
+
+        verify(dailyQuoteService, never()).addDailyQuotes(ArgumentMatchers.anyList());
+    }
+
+    // GET /api/v1/daily-quotes?ids=...
+    @Test
+    public void testGetQuotesByIds() throws Exception {
+        DailyQuoteView first = createDummyView(UUID.randomUUID(), UUID.randomUUID(), 0L);
+        DailyQuoteView second = createDummyView(UUID.randomUUID(), UUID.randomUUID(), 2L);
+        UUID missingId = UUID.randomUUID();
+        when(dailyQuoteService.getQuotesByIds(List.of(second.id(), missingId, first.id())))
+                .thenReturn(Map.of(first.id(), first, second.id(), second));
+
+        mockMvc.perform(get("/api/v1/daily-quotes").param("ids", second.id() + "," + missingId + "," + first.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(second.id().toString())))
+                .andExpect(jsonPath("$.items[1].id", is(first.id().toString())))
+                .andExpect(jsonPath("$.missing", hasSize(1)))
+                .andExpect(jsonPath("$.missing[0]", is(missingId.toString())));
+    }
+
+    // POST /api/v1/daily-quotes/lookup - too many ids are rejected before any lookup
+    @Test
+    public void testLookupQuotes_TooManyIds() throws Exception {
+        List<UUID> ids = Collections.nCopies(1001, UUID.randomUUID());
+
+        mockMvc.perform(post("/api/v1/daily-quotes/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("ids")));
+
+        verify(dailyQuoteService, never()).getQuotesByIds(ArgumentMatchers.anyCollection());
+    }
+
     // PUT /api/v1/daily-quotes/{id} - Success scenario
     @Test
     public void testUpdateDailyQuote_Success() throws Exception {
@@ -113,23 +315,23 @@ public class DailyQuotesControllerApiTest {
         UUID newUserId = UUID.randomUUID();
         editRequest.setUserId(newUserId);
 
-        DailyQuote existing = createDummyQuote(quoteId, UUID.randomUUID());
-        when(dailyQuoteService.getQuoteById(quoteId)).thenReturn(Optional.of(existing));
-
         DailyQuote updated = createDummyQuote(quoteId, newUserId);
-        when(dailyQuoteService.updateDailyQuote(ArgumentMatchers.any(DailyQuote.class)))
+        updated.setVersion(3L);
+        when(dailyQuoteService.updateDailyQuote(ArgumentMatchers.any(DailyQuote.class), ArgumentMatchers.isNull()))
                 .thenReturn(updated);
 
         mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(editRequest)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.id", is(quoteId.toString())))
                 .andExpect(jsonPath("$.userId", is(newUserId.toString())));
 
-        verify(dailyQuoteService, times(1)).getQuoteById(quoteId);
-        verify(dailyQuoteService, times(1))
-                .updateDailyQuote(ArgumentMatchers.any(DailyQuote.class));
+        verify(dailyQuoteService, never()).getQuoteById(quoteId);
+        verify(dailyQuoteService, times(1)).updateDailyQuote(
+                ArgumentMatchers.argThat(quote -> quoteId.equals(quote.getId()) && newUserId.equals(quote.getUserId())),
+                ArgumentMatchers.isNull());
     }
 
     // PUT /api/v1/daily-quotes/{id} - Not found
@@ -137,29 +339,27 @@ public class DailyQuotesControllerApiTest {
     public void testUpdateDailyQuote_NotFound() throws Exception {
         UUID quoteId = UUID.randomUUID();
         EditDailyQuotesRequest editRequest = EditDailyQuotesRequest.builder().build();
-        when(dailyQuoteService.getQuoteById(quoteId)).thenReturn(Optional.empty());
+        when(dailyQuoteService.updateDailyQuote(ArgumentMatchers.any(DailyQuote.class), ArgumentMatchers.isNull()))
+                .thenThrow(new EntityNotFoundException("Quote not found with ID: " + quoteId));
 
         mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(editRequest)))
                 .andExpect(status().isNotFound());
 
-        verify(dailyQuoteService, times(1)).getQuoteById(quoteId);
-        verify(dailyQuoteService, never())
-                .updateDailyQuote(ArgumentMatchers.any(DailyQuote.class));
+        verify(dailyQuoteService, times(1))
+                .updateDailyQuote(ArgumentMatchers.any(DailyQuote.class), ArgumentMatchers.isNull());
     }
 
-    // PUT /api/v1/daily-quotes/{id} - When editRequest.getUserId() is null
+    // PUT /api/v1/daily-quotes/{id} - When editRequest.getUserId() is null the service keeps the current owner
     @Test
     public void testUpdateDailyQuote_NullUserId() throws Exception {
         UUID quoteId = UUID.randomUUID();
         EditDailyQuotesRequest editRequest = EditDailyQuotesRequest.builder().build();
         UUID existingUserId = UUID.randomUUID();
-        DailyQuote existing = createDummyQuote(quoteId, existingUserId);
-        when(dailyQuoteService.getQuoteById(quoteId)).thenReturn(Optional.of(existing));
 
         DailyQuote updated = createDummyQuote(quoteId, existingUserId);
-        when(dailyQuoteService.updateDailyQuote(ArgumentMatchers.any(DailyQuote.class)))
+        when(dailyQuoteService.updateDailyQuote(ArgumentMatchers.any(DailyQuote.class), ArgumentMatchers.isNull()))
                 .thenReturn(updated);
 
         mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
@@ -169,20 +369,47 @@ public class DailyQuotesControllerApiTest {
                 .andExpect(jsonPath("$.id", is(quoteId.toString())))
                 .andExpect(jsonPath("$.userId", is(existingUserId.toString())));
 
-        verify(dailyQuoteService, times(1)).getQuoteById(quoteId);
-        verify(dailyQuoteService, times(1))
-                .updateDailyQuote(ArgumentMatchers.any(DailyQuote.class));
+        verify(dailyQuoteService, times(1)).updateDailyQuote(
+                ArgumentMatchers.argThat(quote -> quote.getUserId() == null), ArgumentMatchers.isNull());
+    }
+
+    // PUT /api/v1/daily-quotes/{id} - stale If-Match
+    @Test
+    public void testUpdateDailyQuote_IfMatchMismatch() throws Exception {
+        UUID quoteId = UUID.randomUUID();
+        EditDailyQuotesRequest editRequest = EditDailyQuotesRequest.builder().quoteImage("new.png").build();
+        when(dailyQuoteService.updateDailyQuote(ArgumentMatchers.any(DailyQuote.class), ArgumentMatchers.eq(2L)))
+                .thenThrow(new PreconditionFailedException("Quote version does not match for ID: " + quoteId));
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(editRequest)))
+                .andExpect(status().isPreconditionFailed());
     }
 
     // DELETE /api/v1/daily-quotes/{id}
     @Test
     public void testDeleteDailyQuote() throws Exception {
         UUID quoteId = UUID.randomUUID();
-        doNothing().when(dailyQuoteService).deleteDailyQuote(quoteId);
+        doNothing().when(dailyQuoteService).deleteDailyQuote(quoteId, null);
 
         mockMvc.perform(delete("/api/v1/daily-quotes/{id}", quoteId))
                 .andExpect(status().isNoContent());
 
-        verify(dailyQuoteService, times(1)).deleteDailyQuote(quoteId);
+        verify(dailyQuoteService, times(1)).deleteDailyQuote(quoteId, null);
+    }
+
+    // DELETE /api/v1/daily-quotes/{id} - Not found
+    @Test
+    public void testDeleteDailyQuote_NotFound() throws Exception {
+        UUID quoteId = UUID.randomUUID();
+        doThrow(new EntityNotFoundException("Quote not found with ID: " + quoteId))
+                .when(dailyQuoteService).deleteDailyQuote(quoteId, 5L);
+
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", quoteId).header("If-Match", "\"5\""))
+                .andExpect(status().isNotFound());
+
+        verify(dailyQuoteService, times(1)).deleteDailyQuote(quoteId, 5L);
     }
 }
\ No newline at end of file
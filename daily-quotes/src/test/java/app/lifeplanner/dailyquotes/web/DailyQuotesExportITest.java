@@ -0,0 +1,75 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DailyQuotesExportITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DailyQuoteRepository dailyQuoteRepository;
+
+    private UUID userId;
+
+    @BeforeEach
+    void seedQuotes() {
+        dailyQuoteRepository.deleteAll();
+        userId = UUID.randomUUID();
+        dailyQuoteRepository.save(DailyQuote.builder().quoteImage("first.png").userId(userId).build());
+        dailyQuoteRepository.save(DailyQuote.builder().quoteImage("second.png").userId(userId).build());
+        dailyQuoteRepository.save(DailyQuote.builder().quoteImage("other.png").userId(UUID.randomUUID()).build());
+    }
+
+    @Test
+    void givenUserId_whenExportQuotes_thenStreamOnlyThatUsersQuotesAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/daily-quotes/export").param("userId", userId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = Arrays.asList(body.split("\n"));
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.contains(userId.toString())));
+        assertTrue(body.endsWith("\n"));
+    }
+
+    @Test
+    void givenNoUserId_whenExportQuotes_thenStreamEveryQuote() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/daily-quotes/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(3, body.split("\n").length);
+    }
+}
@@ -0,0 +1,60 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.repository.DailyQuoteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class DailyQuotesMetricsITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DailyQuoteRepository dailyQuoteRepository;
+
+    // Repository tag of the DailyQuoteStore behind the user list, overridden for the JDBC backend
+    protected String quoteStoreName() {
+        return "DailyQuoteRepository";
+    }
+
+    @Test
+    void givenTraffic_whenScrapingPrometheus_thenEndpointRepositoryPoolAndErrorMetricsArePresent() throws Exception {
+        UUID userId = UUID.randomUUID();
+        dailyQuoteRepository.save(DailyQuote.builder().userId(userId).quoteImage("a.png").build());
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", UUID.randomUUID())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}/page", userId).param("next", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/v1/daily-quotes/user/{userId}", userId)).andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{application=\"LifePlanner-TEST\",error=\"none\",exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/v1/daily-quotes/user/{userId}\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{application=\"LifePlanner-TEST\",exception=\"None\",method=\"findViewsByUserId\",repository=\"" + quoteStoreName() + "\",state=\"SUCCESS\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{application=\"LifePlanner-TEST\",exception=\"None\",method=\"deleteChunkByUserId\",repository=\"QuoteBulkRepository\",state=\"SUCCESS\"")))
+                .andExpect(content().string(containsString("daily_quotes_user_list_size_quotes_count{application=\"LifePlanner-TEST\"} 1")))
+                .andExpect(content().string(containsString("daily_quotes_single_flight_calls_total{application=\"LifePlanner-TEST\",name=\"quotesByUser\",result=\"executed\"}")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("daily_quotes_errors_total{application=\"LifePlanner-TEST\",exception=\"InvalidPageCursorException\",status=\"400\"} 1.0")));
+    }
+}
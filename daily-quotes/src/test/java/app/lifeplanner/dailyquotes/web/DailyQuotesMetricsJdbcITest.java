@@ -0,0 +1,13 @@
+package app.lifeplanner.dailyquotes.web;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Same scenario as DailyQuotesMetricsITest, served by the JDBC persistence backend
+@TestPropertySource(properties = "daily-quotes.persistence.backend=jdbc")
+public class DailyQuotesMetricsJdbcITest extends DailyQuotesMetricsITest {
+
+    @Override
+    protected String quoteStoreName() {
+        return "JdbcDailyQuoteStore";
+    }
+}
@@ -0,0 +1,237 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import app.lifeplanner.dailyquotes.web.dto.EditDailyQuotesRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.either;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pins the number of SQL statements each endpoint issues, read from the X-Sql-Statements header.
+// A change that adds a query to any of these paths has to update the expected count here.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DailyQuotesQueryCountITest {
+
+    private static final String STATEMENTS = SqlStatementFilter.STATEMENTS_HEADER;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID createQuote(UUID userId) throws Exception {
+        AddDailyQuoteRequest request = AddDailyQuoteRequest.builder().quoteImage("a.png").userId(userId).build();
+        String body = mockMvc.perform(post("/api/v1/daily-quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                // ids are generated in memory, so the insert is the only statement
+                .andExpect(header().string(STATEMENTS, "1"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, AddDailyQuoteRequest.class).getId();
+    }
+
+    @Test
+    void whenAddDailyQuotes_thenOneBatchedInsert() throws Exception {
+        UUID userId = UUID.randomUUID();
+        List<AddDailyQuoteRequest> quotes = List.of(
+                AddDailyQuoteRequest.builder().quoteImage("a.png").userId(userId).build(),
+                AddDailyQuoteRequest.builder().quoteImage("b.png").userId(userId).build(),
+                AddDailyQuoteRequest.builder().quoteImage("c.png").userId(userId).build());
+
+        mockMvc.perform(post("/api/v1/daily-quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(quotes)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(STATEMENTS, "1"));
+    }
+
+    @Test
+    void whenGetQuoteById_thenOneSelectThenServedFromCache() throws Exception {
+        UUID quoteId = createQuote(UUID.randomUUID());
+
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", quoteId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "1"));
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", quoteId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "0"));
+    }
+
+    @Test
+    void whenGetQuotesByIds_thenOneSelectForAllIdsThenServedFromCache() throws Exception {
+        UUID first = createQuote(UUID.randomUUID());
+        UUID second = createQuote(UUID.randomUUID());
+        UUID third = createQuote(UUID.randomUUID());
+        String ids = first + "," + second + "," + third + "," + UUID.randomUUID();
+
+        mockMvc.perform(get("/api/v1/daily-quotes").param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "1"));
+        // Only the missing id is looked up again
+        mockMvc.perform(get("/api/v1/daily-quotes").param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "1"));
+        mockMvc.perform(get("/api/v1/daily-quotes").param("ids", first + "," + third))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "0"));
+    }
+
+    @Test
+    void whenGetMissingQuoteById_thenOneSelect() throws Exception {
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(STATEMENTS, "1"));
+    }
+
+    @Test
+    void whenGetQuotesByUserId_thenOneSelectThenServedFromCache() throws Exception {
+        UUID userId = UUID.randomUUID();
+        createQuote(userId);
+        createQuote(userId);
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "1"));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "0"));
+    }
+
+    @Test
+    void whenGetQuotesPageByUserId_thenOneSelect() throws Exception {
+        UUID userId = UUID.randomUUID();
+        createQuote(userId);
+
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}/page", userId).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "1"));
+    }
+
+    @Test
+    void whenGetTodaysQuote_thenAtMostOneSelect() throws Exception {
+        UUID userId = UUID.randomUUID();
+        createQuote(userId);
+
+        // Zero once the after-commit refresh has stored the pick, one if the request computes it first
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}/today", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, either(is("0")).or(is("1"))));
+    }
+
+    @Test
+    void whenUpdateDailyQuoteWithOwnerAndIfMatch_thenSingleUpdate() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID quoteId = createQuote(userId);
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(EditDailyQuotesRequest.builder().quoteImage("b.png").userId(userId).build())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "1"));
+    }
+
+    @Test
+    void whenUpdateCachedDailyQuoteWithoutIfMatch_thenSingleUpdateAndNewETag() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID quoteId = createQuote(userId);
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", quoteId)).andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(EditDailyQuotesRequest.builder().quoteImage("b.png").userId(userId).build())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "1"))
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+
+    @Test
+    void whenUpdateUncachedDailyQuoteWithoutIfMatch_thenSelectAndUpdateAndNewETag() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID quoteId = createQuote(userId);
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(EditDailyQuotesRequest.builder().quoteImage("b.png").userId(userId).build())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "2"))
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+
+    @Test
+    void whenUpdateDailyQuoteWithoutOwner_thenSelectAndUpdate() throws Exception {
+        UUID quoteId = createQuote(UUID.randomUUID());
+
+        mockMvc.perform(put("/api/v1/daily-quotes/{id}", quoteId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(EditDailyQuotesRequest.builder().quoteImage("b.png").build())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "2"));
+    }
+
+    @Test
+    void whenDeleteDailyQuote_thenOwnerLookupAndDelete() throws Exception {
+        UUID quoteId = createQuote(UUID.randomUUID());
+
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", quoteId))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(STATEMENTS, "2"));
+    }
+
+    @Test
+    void whenDeleteQuoteInCachedUserList_thenOnlyTheDelete() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID quoteId = createQuote(userId);
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId)).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", quoteId))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(STATEMENTS, "1"));
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void whenDeleteQuotesByUserId_thenOneSetBasedDelete() throws Exception {
+        UUID userId = UUID.randomUUID();
+        createQuote(userId);
+        createQuote(userId);
+
+        mockMvc.perform(delete("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENTS, "1"));
+    }
+
+    @Test
+    void whenDeleteCachedDailyQuote_thenOnlyTheDelete() throws Exception {
+        UUID quoteId = createQuote(UUID.randomUUID());
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", quoteId)).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/v1/daily-quotes/{id}", quoteId))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(STATEMENTS, "1"));
+    }
+}
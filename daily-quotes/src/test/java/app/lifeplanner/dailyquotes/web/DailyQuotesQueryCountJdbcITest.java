@@ -0,0 +1,8 @@
+package app.lifeplanner.dailyquotes.web;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Same scenarios as DailyQuotesQueryCountITest, served by the JDBC persistence backend
+@TestPropertySource(properties = "daily-quotes.persistence.backend=jdbc")
+public class DailyQuotesQueryCountJdbcITest extends DailyQuotesQueryCountITest {
+}
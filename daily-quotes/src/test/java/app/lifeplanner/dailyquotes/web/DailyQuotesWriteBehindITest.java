@@ -0,0 +1,157 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.exception.ServiceOverloadedException;
+import app.lifeplanner.dailyquotes.model.DailyQuote;
+import app.lifeplanner.dailyquotes.repository.QuoteIngestLog;
+import app.lifeplanner.dailyquotes.repository.QuoteIngestRepository;
+import app.lifeplanner.dailyquotes.service.DailyQuoteService;
+import app.lifeplanner.dailyquotes.service.QuoteIngestionService;
+import app.lifeplanner.dailyquotes.web.dto.AddDailyQuoteRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DailyQuotesWriteBehindITest {
+
+    @TempDir
+    private static Path logDir;
+
+    // The scheduled drain is effectively off; tests drain explicitly
+    @DynamicPropertySource
+    static void ingestionProperties(DynamicPropertyRegistry registry) {
+        registry.add("daily-quotes.ingestion.mode", () -> "write-behind");
+        registry.add("daily-quotes.ingestion.log-dir", () -> logDir.resolve("service").toString());
+        registry.add("daily-quotes.ingestion.drain-interval-ms", () -> "3600000");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuoteIngestionService quoteIngestionService;
+
+    @Autowired
+    private DailyQuoteService dailyQuoteService;
+
+    @Autowired
+    private QuoteIngestRepository quoteIngestRepository;
+
+    @Test
+    void givenWriteBehind_whenPostQuote_then202AndReadableBeforeAndAfterDrain() throws Exception {
+        UUID userId = UUID.randomUUID();
+        AddDailyQuoteRequest request = AddDailyQuoteRequest.builder().quoteImage("accepted.png").userId(userId).build();
+
+        String body = mockMvc.perform(post("/api/v1/daily-quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(header().string("Location", containsString("/api/v1/daily-quotes/")))
+                .andReturn().getResponse().getContentAsString();
+        UUID id = objectMapper.readValue(body, AddDailyQuoteRequest.class).getId();
+        assertNotNull(id);
+
+        // Not in the database yet, still readable by id
+        assertTrue(dailyQuoteService.getQuotesByUserId(userId).isEmpty());
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.quoteImage").value("accepted.png"));
+
+        quoteIngestionService.drain();
+
+        assertTrue(quoteIngestionService.getPendingQuote(id).isEmpty());
+        mockMvc.perform(get("/api/v1/daily-quotes/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id.toString()));
+        mockMvc.perform(get("/api/v1/daily-quotes/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+    }
+
+    @Test
+    void givenLogNotDrainedBeforeRestart_whenServiceStarts_thenEntriesAreReplayedIntoTheDatabase() throws Exception {
+        Path crashedLogDir = logDir.resolve("crashed");
+        UUID userId = UUID.randomUUID();
+        DailyQuote accepted = DailyQuote.builder().id(UUID.randomUUID()).quoteImage("replayed.png").userId(userId).version(0L).build();
+        QuoteIngestLog crashedLog = new QuoteIngestLog(crashedLogDir, DataSize.ofMegabytes(1).toBytes(), entry -> { });
+        crashedLog.recover();
+        crashedLog.append(accepted).join();
+        crashedLog.close();
+
+        QuoteIngestionService restarted = new QuoteIngestionService(dailyQuoteService, new SimpleMeterRegistry(),
+                crashedLogDir, DataSize.ofMegabytes(1), 500, 100, Duration.ofSeconds(1));
+        assertEquals("replayed.png", restarted.getPendingQuote(accepted.getId()).orElseThrow().quoteImage());
+        restarted.close();
+
+        assertTrue(restarted.getPendingQuote(accepted.getId()).isEmpty());
+        assertEquals(accepted.getId(), dailyQuoteService.getQuoteById(accepted.getId()).orElseThrow().id());
+        // Replaying an entry that was stored before the crash does not duplicate it
+        assertEquals(List.of(), quoteIngestRepository.insertAbsent(List.of(accepted)));
+    }
+
+    @Test
+    void givenWriteBehind_whenPostBlankImage_then400AndNothingIsLogged() throws Exception {
+        AddDailyQuoteRequest request = AddDailyQuoteRequest.builder().quoteImage(" ").userId(UUID.randomUUID()).build();
+
+        mockMvc.perform(post("/api/v1/daily-quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenQuoteTheDatabaseRejects_whenDrained_thenItIsDeadLetteredAndTheRestOfTheBatchIsStored() throws Exception {
+        UUID userId = UUID.randomUUID();
+        DailyQuote good = quoteIngestionService.accept(DailyQuote.builder().quoteImage("good.png").userId(userId).build());
+        DailyQuote poison = quoteIngestionService.accept(DailyQuote.builder().quoteImage("x".repeat(300)).userId(userId).build());
+        DailyQuote after = quoteIngestionService.accept(DailyQuote.builder().quoteImage("after.png").userId(userId).build());
+
+        quoteIngestionService.drain();
+
+        assertTrue(quoteIngestionService.getPendingQuote(poison.getId()).isEmpty());
+        assertTrue(dailyQuoteService.getQuoteById(poison.getId()).isEmpty());
+        assertTrue(dailyQuoteService.getQuoteById(good.getId()).isPresent());
+        assertTrue(dailyQuoteService.getQuoteById(after.getId()).isPresent());
+        assertTrue(Files.size(logDir.resolve("service").resolve("dead-letter")) > 0);
+    }
+
+    @Test
+    void givenMaxPendingQuotesWaiting_whenAccepting_thenOverloaded() throws Exception {
+        QuoteIngestionService full = new QuoteIngestionService(dailyQuoteService, new SimpleMeterRegistry(),
+                logDir.resolve("full"), DataSize.ofMegabytes(1), 500, 1, Duration.ofSeconds(1));
+        full.accept(DailyQuote.builder().quoteImage("first.png").userId(UUID.randomUUID()).build());
+
+        assertThrows(ServiceOverloadedException.class,
+                () -> full.accept(DailyQuote.builder().quoteImage("second.png").userId(UUID.randomUUID()).build()));
+        full.close();
+    }
+}
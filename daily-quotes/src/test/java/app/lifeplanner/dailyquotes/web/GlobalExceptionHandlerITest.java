@@ -1,5 +1,7 @@
 package app.lifeplanner.dailyquotes.web;
 
+import app.lifeplanner.dailyquotes.exception.PreconditionFailedException;
+import app.lifeplanner.dailyquotes.exception.ServiceOverloadedException;
 import app.lifeplanner.dailyquotes.web.dto.ErrorResponse;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
@@ -15,6 +17,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -53,6 +56,45 @@ public class GlobalExceptionHandlerITest {
         assertEquals(errorMessage, response.getBody().getMessage());
     }
 
+    @Test
+    void handleQuoteNotFound_ReturnsNotFoundResponseWithMessage() {
+        String errorMessage = "Quote not found with ID: 42";
+        app.lifeplanner.dailyquotes.exception.EntityNotFoundException ex =
+                new app.lifeplanner.dailyquotes.exception.EntityNotFoundException(errorMessage);
+
+        ResponseEntity<ErrorResponse> response = handler.handleQuoteNotFound(ex);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(errorMessage, response.getBody().getMessage());
+    }
+
+    @Test
+    void handlePreconditionFailed_ReturnsPreconditionFailedResponse() {
+        String errorMessage = "Quote version does not match for ID: 42";
+        PreconditionFailedException ex = new PreconditionFailedException(errorMessage);
+
+        ResponseEntity<ErrorResponse> response = handler.handlePreconditionFailed(ex);
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getBody().getStatus());
+        assertEquals(errorMessage, response.getBody().getMessage());
+    }
+
+    @Test
+    void handleServiceOverloaded_ReturnsServiceUnavailableWithRetryAfterInSeconds() {
+        ServiceOverloadedException ex = new ServiceOverloadedException("Too many concurrent reads, retry later", Duration.ofMillis(1500));
+
+        ResponseEntity<ErrorResponse> response = handler.handleServiceOverloaded(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getBody().getStatus());
+        assertEquals("Too many concurrent reads, retry later", response.getBody().getMessage());
+    }
+
     @Test
     void handleValidationExceptions_ReturnsBadRequestWithFieldErrors() {
         MethodArgumentNotValidException ex = mock(MethodArgumentNotValidException.class);
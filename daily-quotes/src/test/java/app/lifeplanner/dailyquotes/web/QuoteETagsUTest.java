@@ -0,0 +1,56 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.model.DailyQuoteView;
+import app.lifeplanner.dailyquotes.service.DailyQuoteService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteETagsUTest {
+
+    @Test
+    void givenVersion_whenOf_thenQuotedStrongTag() {
+        assertEquals("\"7\"", QuoteETags.of(7L));
+    }
+
+    @Test
+    void givenHeaders_whenParseIfMatch_thenExpectedVersion() {
+        assertNull(QuoteETags.parseIfMatch(null));
+        assertNull(QuoteETags.parseIfMatch(" "));
+        assertEquals(DailyQuoteService.ANY_VERSION, QuoteETags.parseIfMatch("*"));
+        assertEquals(3L, QuoteETags.parseIfMatch("\"3\""));
+        assertEquals(3L, QuoteETags.parseIfMatch("3"));
+        assertEquals(-1L, QuoteETags.parseIfMatch("W/\"3\""));
+        assertEquals(-1L, QuoteETags.parseIfMatch("\"abc\""));
+    }
+
+    @Test
+    void givenSameQuotes_whenOfList_thenSameTag() {
+        UUID id = UUID.randomUUID();
+        DailyQuoteView quote = new DailyQuoteView(id, "a.png", null, 1L);
+        DailyQuoteView sameQuote = new DailyQuoteView(id, "a.png", null, 1L);
+
+        assertEquals(QuoteETags.ofList(List.of(quote)), QuoteETags.ofList(List.of(sameQuote)));
+    }
+
+    @Test
+    void givenChangedVersionOrMembership_whenOfList_thenDifferentTag() {
+        UUID id = UUID.randomUUID();
+        DailyQuoteView quote = new DailyQuoteView(id, null, null, 1L);
+        DailyQuoteView updated = new DailyQuoteView(id, null, null, 2L);
+        DailyQuoteView other = new DailyQuoteView(UUID.randomUUID(), null, null, 0L);
+
+        String original = QuoteETags.ofList(List.of(quote));
+        assertNotEquals(original, QuoteETags.ofList(List.of(updated)));
+        assertNotEquals(original, QuoteETags.ofList(List.of(quote, other)));
+        assertNotEquals(original, QuoteETags.ofList(List.of()));
+    }
+
+    @Test
+    void givenAnyList_whenOfList_thenTagIsWeak() {
+        assertTrue(QuoteETags.ofList(List.of()).startsWith("W/\""));
+    }
+}
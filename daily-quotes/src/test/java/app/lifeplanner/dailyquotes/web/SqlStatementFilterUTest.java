@@ -0,0 +1,76 @@
+package app.lifeplanner.dailyquotes.web;
+
+import app.lifeplanner.dailyquotes.exception.SqlStatementBudgetExceededException;
+import app.lifeplanner.dailyquotes.repository.SqlStatementListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatementFilterUTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementListener listener = new SqlStatementListener();
+
+    // A handler that runs the given number of distinct SELECTs
+    private FilterChain runningStatements(int count) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                ExecutionInfo execInfo = new ExecutionInfo();
+                List<QueryInfo> queries = List.of(new QueryInfo("select " + i));
+                listener.beforeQuery(execInfo, queries);
+                listener.afterQuery(execInfo, queries);
+            }
+        };
+    }
+
+    @Test
+    void givenStatementsWithinBudget_whenFilter_thenHeadersAndMetricsAreWritten() throws Exception {
+        SqlStatementFilter filter = new SqlStatementFilter(meterRegistry, 3, 5, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/daily-quotes"), response, runningStatements(3));
+
+        assertEquals("3", response.getHeader(SqlStatementFilter.STATEMENTS_HEADER));
+        assertNotNull(response.getHeader(SqlStatementFilter.TIME_HEADER));
+        assertEquals(3.0, meterRegistry.get("daily_quotes.sql.statements").summary().totalAmount());
+    }
+
+    @Test
+    void givenStatementsOverBudgetAndFailEnabled_whenFilter_thenThrows() {
+        SqlStatementFilter filter = new SqlStatementFilter(meterRegistry, 2, 5, true);
+
+        assertThrows(SqlStatementBudgetExceededException.class, () ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/daily-quotes"), new MockHttpServletResponse(), runningStatements(3)));
+        assertEquals(1.0, meterRegistry.get("daily_quotes.sql.budget.exceeded").counter().count());
+    }
+
+    @Test
+    void givenStatementsOverBudgetAndFailDisabled_whenFilter_thenOnlyCounted() throws Exception {
+        SqlStatementFilter filter = new SqlStatementFilter(meterRegistry, 2, 5, false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/daily-quotes"), response, runningStatements(3));
+
+        assertEquals("3", response.getHeader(SqlStatementFilter.STATEMENTS_HEADER));
+        assertEquals(1.0, meterRegistry.get("daily_quotes.sql.budget.exceeded").counter().count());
+    }
+
+    @Test
+    void givenNoRequestInProgress_whenStatementRuns_thenItIsNotAttributed() throws Exception {
+        SqlStatementFilter filter = new SqlStatementFilter(meterRegistry, 2, 5, true);
+        runningStatements(10).doFilter(null, null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/daily-quotes"), response, runningStatements(1));
+
+        assertEquals("1", response.getHeader(SqlStatementFilter.STATEMENTS_HEADER));
+    }
+}